@@ -3,13 +3,23 @@ package com.todo.config;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.flywaydb.core.Flyway;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
 import java.sql.Connection;
+import java.sql.DriverManager;
 import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 import javax.swing.JOptionPane;
 
 public class DatabaseConfig {
     private static HikariDataSource dataSource;
     private static Connection testConnection = null;
+    // System.nanoTime by which the call running on this thread must be done, if it has one
+    private static final ThreadLocal<Long> deadline = new ThreadLocal<>();
     
     
     
@@ -47,7 +57,11 @@ public class DatabaseConfig {
             try (Connection conn = dataSource.getConnection()) {
                 System.out.println("Database connection successful");
                 
+                // Migrations that build indexes CONCURRENTLY run outside a transaction, and the
+                // build waits for every open transaction; holding Flyway's lock at session
+                // level instead of in one keeps it from waiting on itself
                 Flyway flyway = Flyway.configure()
+                    .configuration(Map.of("flyway.postgresql.transactional.lock", "false"))
                     .dataSource(dataSource)
                     .locations("classpath:db/migration")
                     .validateMigrationNaming(true)
@@ -69,7 +83,60 @@ public class DatabaseConfig {
         if (dataSource == null || dataSource.isClosed()) {
             initialize();
         }
-        return dataSource.getConnection();
+        Connection conn = dataSource.getConnection();
+        Long callDeadline = deadline.get();
+        return callDeadline == null ? conn : withQueryTimeouts(conn, callDeadline);
+    }
+
+    /**
+     * Runs the call so that every statement it creates on a connection from
+     * {@link #getConnection} carries a query timeout of the time left until the deadline, a
+     * {@link System#nanoTime} value. pgjdbc cancels a statement on the server once its timeout
+     * passes, so a call nobody waits for any more does not keep a query running or hold on
+     * to its connection.
+     */
+    public static <T> T callWithDeadline(long deadlineNanos, Supplier<T> call) {
+        Long previous = deadline.get();
+        deadline.set(deadlineNanos);
+        try {
+            return call.get();
+        } finally {
+            if (previous == null) {
+                deadline.remove();
+            } else {
+                deadline.set(previous);
+            }
+        }
+    }
+
+    private static Connection withQueryTimeouts(Connection conn, long deadlineNanos) {
+        return (Connection) Proxy.newProxyInstance(DatabaseConfig.class.getClassLoader(), new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(conn, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Statement statement) {
+                    long left = deadlineNanos - System.nanoTime();
+                    if (left <= 0) {
+                        statement.close();
+                        throw new SQLTimeoutException("Deadline passed before the query started");
+                    }
+                    // Timeouts are whole seconds, so round up rather than cut the last one short
+                    statement.setQueryTimeout((int) Math.min(Integer.MAX_VALUE, TimeUnit.NANOSECONDS.toSeconds(left + 999_999_999L)));
+                }
+                return result;
+            });
+    }
+
+    /**
+     * Opens a connection outside the pool, for sessions held open for as long as the
+     * application runs, such as one waiting on LISTEN. The caller must close it.
+     */
+    public static Connection openDedicatedConnection() throws SQLException {
+        return DriverManager.getConnection(getDbUrl(), getDbUsername(), getDbPassword());
     }
 
     public static void closePool() {
@@ -0,0 +1,10 @@
+package com.todo.model;
+
+import java.time.LocalDate;
+
+/**
+ * What a reminder needs to know about a pending todo, kept small because every upcoming
+ * todo of every user may be waiting in memory at once.
+ */
+public record Reminder(int todoId, int userId, String title, LocalDate dueDate) {
+}
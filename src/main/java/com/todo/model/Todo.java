@@ -13,20 +13,56 @@ public class Todo {
     private Status status;
     private Tags tag;
     private int userSpecificId;
+    // Bumped by the database on every update; a conditional update only applies to the version it read
+    private int version;
     private static final int MAX_TITLE_LENGTH = 20;
     private static final int MAX_DESCRIPTION_LENGTH = 50;
 
     public Todo(int id,  int userId, String title, String description, LocalDate dueDate, Priority priority, Tags tag) {
+        this(id, title, description, priority, tag);
+        validateAndSetDueDate(dueDate);
+    }
+
+    private Todo(int id, String title, String description, Priority priority, Tags tag) {
         this.id = id;
         validateAndSetTitle(title);
         validateAndSetDescription(description);
-        validateAndSetDueDate(dueDate);
         validateAndSetPriority(priority);
         validateAndSetTags(tag);
 
         this.completed = false;
     }
 
+    /**
+     * Builds a todo read back from storage. Its due date may have passed since it was saved,
+     * so only the rules that still hold are checked.
+     */
+    public static Todo stored(int id, String title, String description, LocalDate dueDate, Priority priority, Tags tag) {
+        if (dueDate == null) {
+            throw new IllegalArgumentException("Due date cannot be null");
+        }
+        Todo todo = new Todo(id, title, description, priority, tag);
+        todo.dueDate = dueDate;
+        return todo;
+    }
+
+    /**
+     * Copies every field of another todo, so the copy can be changed on its own.
+     */
+    public Todo(Todo other) {
+        this.id = other.id;
+        this.userId = other.userId;
+        this.title = other.title;
+        this.description = other.description;
+        this.completed = other.completed;
+        this.dueDate = other.dueDate;
+        this.priority = other.priority;
+        this.status = other.status;
+        this.tag = other.tag;
+        this.userSpecificId = other.userSpecificId;
+        this.version = other.version;
+    }
+
     public int getId() {
         return id;
     }
@@ -102,24 +138,46 @@ public class Todo {
 	    return userSpecificId;
 	}
 
+	public int getVersion() {
+	    return version;
+	}
+
+	public void setVersion(int version) {
+	    this.version = version;
+	}
+
     private void validateAndSetTitle(String title) {
+        checkTitle(title);
+        this.title = title;
+    }
+
+    private void validateAndSetDescription(String description) {
+        checkDescription(description);
+        this.description = description;
+    }
+
+    /**
+     * Throws IllegalArgumentException if the title is empty or too long.
+     */
+    public static void checkTitle(String title) {
         if (title == null || title.trim().isEmpty()) {
             throw new IllegalArgumentException("Title cannot be null or empty");
         }
         if (title.length() > MAX_TITLE_LENGTH) {
             throw new IllegalArgumentException("Title cannot exceed " + MAX_TITLE_LENGTH + " characters");
         }
-        this.title = title;
     }
 
-    private void validateAndSetDescription(String description) {
+    /**
+     * Throws IllegalArgumentException if the description is empty or too long.
+     */
+    public static void checkDescription(String description) {
         if (description == null || description.trim().isEmpty()) {
             throw new IllegalArgumentException("Description cannot be null or empty");
         }
         if (description.length() > MAX_DESCRIPTION_LENGTH) {
             throw new IllegalArgumentException("Description cannot exceed " + MAX_DESCRIPTION_LENGTH + " characters");
         }
-        this.description = description;
     }
 
     private void validateAndSetDueDate(LocalDate dueDate) {
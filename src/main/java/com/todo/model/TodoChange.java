@@ -0,0 +1,31 @@
+package com.todo.model;
+
+import java.util.List;
+
+/**
+ * Todos of one user that were inserted, updated or deleted by a single committed statement,
+ * wherever it ran. An empty {@code ids} list means the statement touched too many rows to
+ * name them, so anything showing the user's todos should reload.
+ *
+ * {@code versions} holds the version of each todo in {@code ids}, in the same order: the new
+ * version for inserts and updates, the last one for deletes. It is empty when the source did
+ * not say.
+ */
+public record TodoChange(Operation operation, int userId, List<Integer> ids, List<Integer> versions) {
+
+    public enum Operation {
+        INSERT, UPDATE, DELETE
+    }
+
+    public TodoChange(Operation operation, int userId, List<Integer> ids) {
+        this(operation, userId, ids, List.of());
+    }
+
+    public boolean reloadAll() {
+        return ids.isEmpty();
+    }
+
+    public boolean hasVersions() {
+        return !ids.isEmpty() && versions.size() == ids.size();
+    }
+}
@@ -0,0 +1,10 @@
+package com.todo.model;
+
+import java.time.LocalDate;
+
+/**
+ * The fields needed to create a todo before the database has assigned it an id.
+ * Used by {@code TodoService.createTodos} to insert many todos for one user at once.
+ */
+public record TodoDraft(int userSpecificId, String title, String description, LocalDate dueDate, Priority priority, Tags tag) {
+}
@@ -0,0 +1,14 @@
+package com.todo.model;
+
+import java.util.List;
+
+/**
+ * Outcome of {@code TodoImporter.importTodos}: how many rows went in, how many were
+ * rejected, and why, by line of the file. Only the first rejections are listed, so
+ * {@code errors} can be shorter than {@code failed}.
+ */
+public record TodoImportResult(int imported, int failed, List<RowError> errors) {
+
+    public record RowError(int line, String message) {
+    }
+}
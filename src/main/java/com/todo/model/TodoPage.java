@@ -0,0 +1,15 @@
+package com.todo.model;
+
+import java.util.List;
+
+/**
+ * One page of a user's todos ordered by due date and id. {@code nextCursor} is an opaque
+ * token to pass back to {@code TodoService.getTodosPage} for the following page, or
+ * {@code null} when this is the last page.
+ */
+public record TodoPage(List<Todo> todos, String nextCursor) {
+
+    public boolean hasMore() {
+        return nextCursor != null;
+    }
+}
@@ -0,0 +1,107 @@
+package com.todo.model;
+
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Filter, sort and limit criteria for {@code TodoService.findTodos}. Every criterion left
+ * unset matches all todos of the user.
+ */
+public class TodoQuery {
+
+    public enum Sort {
+        DUE_DATE, DUE_DATE_DESC, PRIORITY, TITLE
+    }
+
+    public static final int DEFAULT_LIMIT = 100;
+
+    private final int userId;
+    private final Set<Priority> priorities = EnumSet.noneOf(Priority.class);
+    private final Set<Tags> tags = EnumSet.noneOf(Tags.class);
+    private Status status;
+    private LocalDate dueFrom;
+    private LocalDate dueTo;
+    private Sort sort = Sort.DUE_DATE;
+    private int limit = DEFAULT_LIMIT;
+
+    public TodoQuery(int userId) {
+        this.userId = userId;
+    }
+
+    public TodoQuery withPriorities(Priority... priorities) {
+        Collections.addAll(this.priorities, priorities);
+        return this;
+    }
+
+    public TodoQuery withTags(Tags... tags) {
+        Collections.addAll(this.tags, tags);
+        return this;
+    }
+
+    public TodoQuery withStatus(Status status) {
+        this.status = status;
+        return this;
+    }
+
+    /**
+     * Restricts the due date to the inclusive range; either bound may be null to leave it open.
+     */
+    public TodoQuery dueBetween(LocalDate from, LocalDate to) {
+        if (from != null && to != null && from.isAfter(to)) {
+            throw new IllegalArgumentException("Due date range start cannot be after its end");
+        }
+        this.dueFrom = from;
+        this.dueTo = to;
+        return this;
+    }
+
+    public TodoQuery sortBy(Sort sort) {
+        if (sort == null) {
+            throw new IllegalArgumentException("Sort cannot be null");
+        }
+        this.sort = sort;
+        return this;
+    }
+
+    public TodoQuery limit(int limit) {
+        if (limit <= 0) {
+            throw new IllegalArgumentException("Limit must be positive");
+        }
+        this.limit = limit;
+        return this;
+    }
+
+    public int getUserId() {
+        return userId;
+    }
+
+    public Set<Priority> getPriorities() {
+        return Collections.unmodifiableSet(priorities);
+    }
+
+    public Set<Tags> getTags() {
+        return Collections.unmodifiableSet(tags);
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public LocalDate getDueFrom() {
+        return dueFrom;
+    }
+
+    public LocalDate getDueTo() {
+        return dueTo;
+    }
+
+    public Sort getSort() {
+        return sort;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+}
@@ -0,0 +1,29 @@
+package com.todo.model;
+
+import java.util.Map;
+
+/**
+ * Counts over all of one user's todos. Overdue and due this week only count pending todos;
+ * due this week means due today or within the next six days.
+ */
+public record TodoStats(int total, Map<Priority, Integer> byPriority, Map<Tags, Integer> byTag,
+                        Map<Status, Integer> byStatus, int overdue, int dueThisWeek) {
+
+    public TodoStats {
+        byPriority = Map.copyOf(byPriority);
+        byTag = Map.copyOf(byTag);
+        byStatus = Map.copyOf(byStatus);
+    }
+
+    public int count(Priority priority) {
+        return byPriority.getOrDefault(priority, 0);
+    }
+
+    public int count(Tags tag) {
+        return byTag.getOrDefault(tag, 0);
+    }
+
+    public int count(Status status) {
+        return byStatus.getOrDefault(status, 0);
+    }
+}
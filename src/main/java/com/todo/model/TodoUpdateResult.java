@@ -0,0 +1,25 @@
+package com.todo.model;
+
+/**
+ * Outcome of {@code TodoService.updateTodoIfVersion}. When the update went through,
+ * {@code todo} is the row as written. On a conflict nothing was written and {@code todo} is
+ * the row as it is now, with the version to retry against.
+ */
+public record TodoUpdateResult(Outcome outcome, Todo todo) {
+
+    public enum Outcome {
+        UPDATED, CONFLICT
+    }
+
+    public static TodoUpdateResult updated(Todo todo) {
+        return new TodoUpdateResult(Outcome.UPDATED, todo);
+    }
+
+    public static TodoUpdateResult conflict(Todo current) {
+        return new TodoUpdateResult(Outcome.CONFLICT, current);
+    }
+
+    public boolean isConflict() {
+        return outcome == Outcome.CONFLICT;
+    }
+}
@@ -0,0 +1,173 @@
+package com.todo.service;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.config.PropertiesLoader;
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.model.TodoPage;
+import com.todo.model.TodoQuery;
+import com.todo.model.TodoStats;
+import com.todo.model.TodoUpdateResult;
+import com.todo.model.User;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking facade over {@link TodoService} and {@link UserService}. Each call runs on a
+ * fixed pool of daemon threads and completes a {@link CompletableFuture}, so independent
+ * calls can be in flight at the same time. The pool size caps how many calls hold a database
+ * connection at once and defaults to the connection pool size.
+ *
+ * A call whose future is cancelled or times out while it is still queued never runs. One
+ * that has started has its worker thread interrupted, which does not stop a query in
+ * progress; instead, with a timeout set, every statement the call runs carries a query
+ * timeout for the time left, so the server aborts a query that runs past it and the
+ * connection goes back to the pool. Cancelling the future by hand leaves a running query
+ * to finish.
+ */
+public class AsyncTodoService implements AutoCloseable {
+
+    private final TodoService todoService;
+    private final UserService userService;
+    private final ExecutorService executor;
+    private final long timeoutMillis;
+
+    public AsyncTodoService(TodoService todoService, UserService userService) {
+        this(todoService, userService,
+            PropertiesLoader.getIntProperty("todo.async.maxConcurrency", PropertiesLoader.getIntProperty("db.pool.maxSize", 10)),
+            PropertiesLoader.getIntProperty("todo.async.timeoutMillis", 30000));
+    }
+
+    /**
+     * @param maxConcurrency number of calls that may run at once; the rest queue
+     * @param timeoutMillis  time after which a call fails with {@link TimeoutException} and its
+     *                       queries are cancelled on the server, or 0 for none
+     */
+    public AsyncTodoService(TodoService todoService, UserService userService, int maxConcurrency, long timeoutMillis) {
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("Max concurrency must be positive");
+        }
+        if (timeoutMillis < 0) {
+            throw new IllegalArgumentException("Timeout cannot be negative");
+        }
+        this.todoService = todoService;
+        this.userService = userService;
+        this.executor = Executors.newFixedThreadPool(maxConcurrency, workerThreads());
+        this.timeoutMillis = timeoutMillis;
+    }
+
+    public CompletableFuture<Todo> createTodo(int userSpecificId, int userId, String title, String description,
+                                              LocalDate dueDate, Priority priority, Tags tag) {
+        return supply(() -> todoService.createTodo(userSpecificId, userId, title, description, dueDate, priority, tag));
+    }
+
+    public CompletableFuture<Todo> getTodoById(int id) {
+        return supply(() -> todoService.getTodoById(id));
+    }
+
+    public CompletableFuture<Todo> updateTodo(int id, int userId, String title, String description,
+                                              LocalDate dueDate, Priority priority, Tags tag, boolean completed) {
+        return supply(() -> todoService.updateTodo(id, userId, title, description, dueDate, priority, tag, completed));
+    }
+
+    public CompletableFuture<TodoUpdateResult> updateTodoIfVersion(int id, int userId, int expectedVersion, String title,
+                                                                   String description, LocalDate dueDate, Priority priority,
+                                                                   Tags tag, boolean completed) {
+        return supply(() -> todoService.updateTodoIfVersion(id, userId, expectedVersion, title, description, dueDate, priority, tag, completed));
+    }
+
+    public CompletableFuture<Boolean> deleteTodoById(int id) {
+        return supply(() -> todoService.deleteTodoById(id));
+    }
+
+    public CompletableFuture<Todo> markCompleted(int id, int userId) {
+        return supply(() -> todoService.markCompleted(id, userId));
+    }
+
+    public CompletableFuture<Integer> completeAll(Collection<Integer> ids, int userId) {
+        return supply(() -> todoService.completeAll(ids, userId));
+    }
+
+    public CompletableFuture<Integer> deleteAll(Collection<Integer> ids, int userId) {
+        return supply(() -> todoService.deleteAll(ids, userId));
+    }
+
+    public CompletableFuture<List<Todo>> getTodosByUserId(int userId) {
+        return supply(() -> todoService.getTodosByUserId(userId));
+    }
+
+    public CompletableFuture<TodoPage> getTodosPage(int userId, String cursor, int pageSize) {
+        return supply(() -> todoService.getTodosPage(userId, cursor, pageSize));
+    }
+
+    public CompletableFuture<List<Todo>> findTodos(TodoQuery query) {
+        return supply(() -> todoService.findTodos(query));
+    }
+
+    public CompletableFuture<List<Todo>> search(int userId, String query, int limit) {
+        return supply(() -> todoService.search(userId, query, limit));
+    }
+
+    public CompletableFuture<TodoStats> getStats(int userId) {
+        return supply(() -> todoService.getStats(userId));
+    }
+
+    public CompletableFuture<User> login(String username, String password) {
+        return supply(() -> userService.login(username, password));
+    }
+
+    public CompletableFuture<User> registerUser(String username, String password) {
+        return supply(() -> userService.registerUser(username, password));
+    }
+
+    /**
+     * Runs any other service call on the pool with the same timeout and cancellation handling.
+     */
+    public <T> CompletableFuture<T> supply(Supplier<T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        Future<?> task = executor.submit(() -> {
+            try {
+                result.complete(timeoutMillis > 0 ? DatabaseConfig.callWithDeadline(deadline, call) : call.get());
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        if (timeoutMillis > 0) {
+            result.orTimeout(timeoutMillis, TimeUnit.MILLISECONDS);
+        }
+        result.whenComplete((value, error) -> {
+            if (error instanceof CancellationException || error instanceof TimeoutException) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory workerThreads() {
+        AtomicInteger count = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "todo-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
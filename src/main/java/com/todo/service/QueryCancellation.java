@@ -0,0 +1,44 @@
+package com.todo.service;
+
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Lets another thread stop a query that a service call is running. {@link #cancel} asks the
+ * server to abort the statement in flight, or keeps it from starting if it has not started
+ * yet; the call then fails with {@link CancellationException}. One instance covers one call.
+ */
+public final class QueryCancellation {
+
+    // pgjdbc only sends a cancel request while the statement is executing, so a late cancel
+    // cannot hit the next query on the pooled connection
+    private Statement statement;
+    private boolean cancelled;
+
+    public synchronized void cancel() {
+        cancelled = true;
+        if (statement != null) {
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                // The connection is gone, so there is nothing left to stop
+            }
+        }
+    }
+
+    public synchronized boolean isCancelled() {
+        return cancelled;
+    }
+
+    synchronized void attach(Statement statement) {
+        if (cancelled) {
+            throw new CancellationException("Query cancelled");
+        }
+        this.statement = statement;
+    }
+
+    synchronized void detach() {
+        statement = null;
+    }
+}
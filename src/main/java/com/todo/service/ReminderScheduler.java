@@ -0,0 +1,281 @@
+package com.todo.service;
+
+import com.todo.config.PropertiesLoader;
+import com.todo.model.Reminder;
+import com.todo.model.Status;
+import com.todo.model.Todo;
+import com.todo.model.TodoChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Reminds subscribers of their pending todos at a set time of day on the due date. Reminders
+ * of the subscribed users due within the next few days are loaded page by page into a
+ * {@link TimingWheel}, and the window moves forward as days pass, so memory holds only the
+ * upcoming reminders however far ahead todos are planned. A user's reminders are loaded when
+ * their first subscriber arrives.
+ *
+ * Edits reach the scheduler through {@link #applyChange}. Everything else runs on one daemon
+ * thread that owns the wheel, so it needs no locking; subscribers are called on that thread.
+ * Only reminders still ahead are scheduled, so loading or editing a todo after its reminder
+ * time on the due date does not remind again.
+ *
+ * When the database cannot be reached the scheduler retries with exponential backoff, and
+ * tells its failure listeners once per outage so reminders do not just stop silently. A
+ * failing subscriber or failure listener is logged.
+ */
+public class ReminderScheduler implements AutoCloseable {
+
+    private static final int WHEEL_SIZE = 4096;
+    private static final long FIRST_RETRY_DELAY_MILLIS = 1000;
+    private static final long MAX_RETRY_DELAY_MILLIS = 300_000;
+    private static final Logger log = LoggerFactory.getLogger(ReminderScheduler.class);
+
+    private final TodoService todoService;
+    private final LocalTime remindAt;
+    private final int windowDays;
+    private final long tickMillis;
+    private final Clock clock;
+    private final TimingWheel<Reminder> wheel;
+    // Owned by the scheduler thread, like the wheel
+    private final Map<Integer, TimingWheel.Timeout<Reminder>> scheduled = new HashMap<>();
+    private LocalDate loadedUntil;
+    private long retryDelay;
+    private final Queue<TodoChange> changes = new ConcurrentLinkedQueue<>();
+    // Users whose first subscriber arrived since the last tick
+    private final Queue<Integer> newUsers = new ConcurrentLinkedQueue<>();
+    // Set when a user's last subscriber leaves, so the next tick drops their reminders
+    private volatile boolean usersLeft;
+    private final Map<Integer, List<Consumer<Reminder>>> subscribers = new ConcurrentHashMap<>();
+    private final List<Consumer<RuntimeException>> failureListeners = new CopyOnWriteArrayList<>();
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public ReminderScheduler(TodoService todoService) {
+        this(todoService,
+             LocalTime.parse(PropertiesLoader.getProperty("todo.reminders.time", "09:00")),
+             PropertiesLoader.getIntProperty("todo.reminders.windowDays", 2),
+             PropertiesLoader.getIntProperty("todo.reminders.tickMillis", 1000),
+             Clock.systemDefaultZone());
+    }
+
+    /**
+     * @param remindAt   time of day, in the clock's zone, at which reminders fire on the due date
+     * @param windowDays number of days, today included, whose reminders are kept loaded
+     * @param tickMillis how often due reminders are looked for, which bounds how late they fire
+     */
+    public ReminderScheduler(TodoService todoService, LocalTime remindAt, int windowDays, long tickMillis, Clock clock) {
+        if (windowDays <= 0) {
+            throw new IllegalArgumentException("Window must be at least one day");
+        }
+        this.todoService = todoService;
+        this.remindAt = remindAt;
+        this.windowDays = windowDays;
+        this.tickMillis = tickMillis;
+        this.clock = clock;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_SIZE, clock.millis());
+        this.thread = new Thread(this::run, "todo-reminders");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void subscribe(int userId, Consumer<Reminder> subscriber) {
+        subscribers.computeIfAbsent(userId, id -> {
+            newUsers.add(id);
+            return new CopyOnWriteArrayList<>();
+        }).add(subscriber);
+    }
+
+    public void unsubscribe(int userId, Consumer<Reminder> subscriber) {
+        subscribers.computeIfPresent(userId, (id, list) -> {
+            list.remove(subscriber);
+            if (list.isEmpty()) {
+                usersLeft = true;
+                return null;
+            }
+            return list;
+        });
+    }
+
+    /**
+     * Registers a listener told, on the scheduler thread, when loading reminders fails after
+     * they last worked. Retries go on regardless.
+     */
+    public void addFailureListener(Consumer<RuntimeException> listener) {
+        failureListeners.add(listener);
+    }
+
+    public void removeFailureListener(Consumer<RuntimeException> listener) {
+        failureListeners.remove(listener);
+    }
+
+    /**
+     * Queues a change to todos for the scheduler thread, which reschedules, cancels or adds
+     * the reminders of the named todos on its next tick.
+     */
+    public void applyChange(TodoChange change) {
+        changes.add(change);
+    }
+
+    private void run() {
+        while (!closed) {
+            try {
+                tick();
+                retryDelay = 0;
+            } catch (RuntimeException e) {
+                if (retryDelay == 0) {
+                    notifyFailure(e);
+                }
+                retryDelay = retryDelay == 0 ? FIRST_RETRY_DELAY_MILLIS : Math.min(retryDelay * 2, MAX_RETRY_DELAY_MILLIS);
+                // Changes may have been lost with the failure, so start over from the database
+                loadedUntil = null;
+            }
+            try {
+                Thread.sleep(retryDelay == 0 ? tickMillis : retryDelay);
+            } catch (InterruptedException e) {
+                return;
+            }
+        }
+    }
+
+    private void tick() {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate windowEnd = today.plusDays(windowDays);
+        if (loadedUntil == null) {
+            wheel.clear();
+            scheduled.clear();
+            changes.clear();
+            // Cleared before the full load reads the subscribers, so nobody slips between the two
+            newUsers.clear();
+            load(subscribers.keySet(), today, windowEnd);
+        } else if (loadedUntil.isBefore(windowEnd)) {
+            load(subscribers.keySet(), loadedUntil, windowEnd);
+        }
+
+        if (usersLeft) {
+            usersLeft = false;
+            cancelWhere(reminder -> !subscribers.containsKey(reminder.userId()));
+        }
+        Integer userId;
+        while ((userId = newUsers.peek()) != null) {
+            // Anything still scheduled for the user may have changed while nobody listened
+            int user = userId;
+            cancelWhere(reminder -> reminder.userId() == user);
+            load(Set.of(userId), today, loadedUntil);
+            newUsers.remove();
+        }
+
+        TodoChange change;
+        while ((change = changes.poll()) != null) {
+            apply(change);
+        }
+
+        for (Reminder reminder : wheel.advance(clock.millis())) {
+            scheduled.remove(reminder.todoId());
+            publish(reminder);
+        }
+    }
+
+    private void load(Set<Integer> userIds, LocalDate from, LocalDate to) {
+        // A snapshot, so every page asks about the same users
+        List<Integer> users = List.copyOf(userIds);
+        Reminder last = null;
+        List<Reminder> page;
+        do {
+            page = todoService.getReminders(users, from, to, last, TodoService.MAX_PAGE_SIZE);
+            for (Reminder reminder : page) {
+                schedule(reminder);
+            }
+            last = page.isEmpty() ? null : page.get(page.size() - 1);
+        } while (page.size() == TodoService.MAX_PAGE_SIZE);
+        loadedUntil = to;
+    }
+
+    private void apply(TodoChange change) {
+        if (loadedUntil == null) {
+            // A reload is due on the next tick and covers this change
+            return;
+        }
+        if (change.reloadAll()) {
+            loadedUntil = null;
+            return;
+        }
+        for (int id : change.ids()) {
+            cancel(id);
+        }
+        if (change.operation() == TodoChange.Operation.DELETE || !subscribers.containsKey(change.userId())) {
+            return;
+        }
+        for (Todo todo : todoService.getTodosByIds(change.userId(), change.ids())) {
+            if (todo.getStatus() == Status.PENDING && todo.getDueDate().isBefore(loadedUntil)) {
+                schedule(new Reminder(todo.getId(), todo.getUserId(), todo.getTitle(), todo.getDueDate()));
+            }
+        }
+    }
+
+    private void schedule(Reminder reminder) {
+        long deadline = reminder.dueDate().atTime(remindAt).atZone(clock.getZone()).toInstant().toEpochMilli();
+        if (deadline <= clock.millis()) {
+            return;
+        }
+        cancel(reminder.todoId());
+        scheduled.put(reminder.todoId(), wheel.schedule(reminder, deadline));
+    }
+
+    private void cancel(int todoId) {
+        TimingWheel.Timeout<Reminder> timeout = scheduled.remove(todoId);
+        if (timeout != null) {
+            wheel.cancel(timeout);
+        }
+    }
+
+    private void cancelWhere(Predicate<Reminder> matches) {
+        scheduled.values().removeIf(timeout -> {
+            if (!matches.test(timeout.task())) {
+                return false;
+            }
+            wheel.cancel(timeout);
+            return true;
+        });
+    }
+
+    private void notifyFailure(RuntimeException failure) {
+        for (Consumer<RuntimeException> listener : failureListeners) {
+            try {
+                listener.accept(failure);
+            } catch (RuntimeException e) {
+                log.warn("Reminder failure listener failed", e);
+            }
+        }
+    }
+
+    private void publish(Reminder reminder) {
+        for (Consumer<Reminder> subscriber : subscribers.getOrDefault(reminder.userId(), List.of())) {
+            try {
+                subscriber.accept(reminder);
+            } catch (RuntimeException e) {
+                log.warn("Reminder subscriber failed", e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        thread.interrupt();
+    }
+}
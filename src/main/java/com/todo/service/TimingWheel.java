@@ -0,0 +1,154 @@
+package com.todo.service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hashed timing wheel: a ring of buckets, one per tick, each holding a linked list of the
+ * entries whose deadline falls on a tick that maps to it. Scheduling and cancelling an entry
+ * are O(1) whatever the number of entries; {@link #advance} visits one bucket per elapsed
+ * tick and skips entries that are due in a later turn of the ring.
+ *
+ * Entries never fire early, and fire at most one tick late. Not thread-safe; callers
+ * confine a wheel to one thread or lock around it.
+ */
+public class TimingWheel<T> {
+
+    private final long tickMillis;
+    private final long startMillis;
+    private final Timeout<T>[] buckets;
+    private final int mask;
+    // The next tick advance will process
+    private long tick;
+    private int size;
+
+    /**
+     * @param wheelSize number of buckets, rounded up to a power of two. Deadlines further
+     *                  ahead than {@code wheelSize} ticks are fine but are passed over once
+     *                  per turn of the ring.
+     */
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("Tick must be positive");
+        }
+        if (wheelSize <= 0 || wheelSize > 1 << 30) {
+            throw new IllegalArgumentException("Wheel size must be between 1 and " + (1 << 30));
+        }
+        int buckets = Integer.highestOneBit(wheelSize);
+        if (buckets < wheelSize) {
+            buckets <<= 1;
+        }
+        this.tickMillis = tickMillis;
+        this.startMillis = startMillis;
+        this.buckets = (Timeout<T>[]) new Timeout[buckets];
+        this.mask = buckets - 1;
+    }
+
+    /**
+     * Schedules the task to be returned by the first {@link #advance} to reach its deadline.
+     * A deadline that has already passed is returned by the next advance.
+     */
+    public Timeout<T> schedule(T task, long deadlineMillis) {
+        // Rounded up, so that reaching the tick means the deadline has passed
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis - startMillis + tickMillis - 1, tickMillis), tick);
+        Timeout<T> timeout = new Timeout<>(task, deadlineTick);
+        int bucket = (int) (deadlineTick & mask);
+        timeout.bucket = bucket;
+        timeout.next = buckets[bucket];
+        if (timeout.next != null) {
+            timeout.next.prev = timeout;
+        }
+        buckets[bucket] = timeout;
+        size++;
+        return timeout;
+    }
+
+    /**
+     * Removes the entry, returning false if it already fired or was cancelled.
+     */
+    public boolean cancel(Timeout<T> timeout) {
+        if (timeout.bucket < 0) {
+            return false;
+        }
+        unlink(timeout);
+        return true;
+    }
+
+    /**
+     * Removes and returns the tasks of every entry whose deadline is at or before
+     * {@code nowMillis}.
+     */
+    public List<T> advance(long nowMillis) {
+        long lastTick = Math.floorDiv(nowMillis - startMillis, tickMillis);
+        if (lastTick < tick) {
+            return List.of();
+        }
+        List<T> expired = new ArrayList<>();
+        // After a long pause every bucket may hold due entries, but none needs a second visit
+        long ticks = Math.min(lastTick - tick + 1, buckets.length);
+        for (long i = 0; i < ticks; i++) {
+            Timeout<T> timeout = buckets[(int) ((tick + i) & mask)];
+            while (timeout != null) {
+                Timeout<T> next = timeout.next;
+                if (timeout.deadlineTick <= lastTick) {
+                    unlink(timeout);
+                    expired.add(timeout.task);
+                }
+                timeout = next;
+            }
+        }
+        tick = lastTick + 1;
+        return expired;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        for (int i = 0; i < buckets.length; i++) {
+            for (Timeout<T> timeout = buckets[i]; timeout != null; timeout = timeout.next) {
+                timeout.bucket = -1;
+            }
+            buckets[i] = null;
+        }
+        size = 0;
+    }
+
+    private void unlink(Timeout<T> timeout) {
+        if (timeout.prev != null) {
+            timeout.prev.next = timeout.next;
+        } else {
+            buckets[timeout.bucket] = timeout.next;
+        }
+        if (timeout.next != null) {
+            timeout.next.prev = timeout.prev;
+        }
+        timeout.prev = null;
+        timeout.next = null;
+        timeout.bucket = -1;
+        size--;
+    }
+
+    /**
+     * A scheduled task, kept to cancel it later.
+     */
+    public static final class Timeout<T> {
+        private final T task;
+        private final long deadlineTick;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+        // -1 once the entry fired or was cancelled
+        private int bucket;
+
+        private Timeout(T task, long deadlineTick) {
+            this.task = task;
+            this.deadlineTick = deadlineTick;
+        }
+
+        public T task() {
+            return task;
+        }
+    }
+}
@@ -0,0 +1,279 @@
+package com.todo.service;
+
+import com.todo.model.Todo;
+import com.todo.model.TodoChange;
+import com.todo.model.TodoPage;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * In-memory cache of todos grouped per user, used by {@link TodoService} to answer repeat
+ * reads without a database round-trip. The budget is the number of distinct todos held;
+ * when it is exceeded the least recently used users are evicted as a whole.
+ *
+ * Writes go through {@link #writeTodo} and {@link #removeTodo} so cached lists stay in step
+ * with the database. Cached pages for a user are dropped on any write, because an insert or
+ * a due-date change can shift every page boundary after it.
+ *
+ * Todos are mutable, so the cache stores its own copies and hands out fresh copies. A
+ * caller that changes a todo it was given never changes what the next reader sees.
+ *
+ * A read from the database may finish after a write or a reported change that it did not
+ * see. Readers therefore take {@link #generation()} before they query and pass it to the
+ * put methods, which drop what was read if any write or change came in since.
+ */
+public class TodoCache {
+
+    public record Stats(long hits, long misses, long evictions, int cachedTodos) {
+    }
+
+    private static class UserEntry {
+        private final Map<Integer, Todo> byId = new HashMap<>();
+        private final Map<String, TodoPage> pages = new HashMap<>();
+        private List<Todo> all;
+    }
+
+    private final int maxTodos;
+    private final LinkedHashMap<Integer, UserEntry> users = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<Integer, Integer> ownerById = new HashMap<>();
+    private int cachedTodos;
+    // Bumped by every write and reported change
+    private long generation;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * @param maxTodos the most todos to keep in memory; 0 disables caching
+     */
+    public TodoCache(int maxTodos) {
+        if (maxTodos < 0) {
+            throw new IllegalArgumentException("Cache size cannot be negative");
+        }
+        this.maxTodos = maxTodos;
+    }
+
+    public synchronized Todo getTodo(int id) {
+        Integer owner = ownerById.get(id);
+        UserEntry entry = owner != null ? users.get(owner) : null;
+        Todo cached = entry != null ? entry.byId.get(id) : null;
+        return record(cached != null ? new Todo(cached) : null);
+    }
+
+    public synchronized List<Todo> getTodos(int userId) {
+        UserEntry entry = users.get(userId);
+        return record(entry != null && entry.all != null ? copies(entry.all) : null);
+    }
+
+    public synchronized TodoPage getPage(int userId, String cursor, int pageSize) {
+        UserEntry entry = users.get(userId);
+        TodoPage cached = entry != null ? entry.pages.get(pageKey(cursor, pageSize)) : null;
+        return record(cached != null ? new TodoPage(copies(cached.todos()), cached.nextCursor()) : null);
+    }
+
+    /**
+     * Returns the stamp to take before reading from the database and pass to a put method.
+     */
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void putTodos(int userId, List<Todo> todos, long readAt) {
+        if (maxTodos == 0 || readAt != generation) {
+            return;
+        }
+        UserEntry entry = entryFor(userId);
+        entry.all = copies(todos);
+        for (Todo todo : entry.all) {
+            index(userId, entry, todo);
+        }
+        evictOverBudget();
+    }
+
+    public synchronized void putPage(int userId, String cursor, int pageSize, TodoPage page, long readAt) {
+        if (maxTodos == 0 || readAt != generation) {
+            return;
+        }
+        UserEntry entry = entryFor(userId);
+        List<Todo> todos = copies(page.todos());
+        entry.pages.put(pageKey(cursor, pageSize), new TodoPage(List.copyOf(todos), page.nextCursor()));
+        for (Todo todo : todos) {
+            index(userId, entry, todo);
+        }
+        evictOverBudget();
+    }
+
+    /**
+     * Caches a todo that was just read from the database. Lists and pages are left alone
+     * unless they hold an older version of it, which then counts as a write.
+     */
+    public synchronized void putTodo(Todo todo, long readAt) {
+        if (maxTodos == 0 || readAt != generation) {
+            return;
+        }
+        Integer owner = ownerById.get(todo.getId());
+        UserEntry current = owner != null ? users.get(owner) : null;
+        Todo cached = current != null ? current.byId.get(todo.getId()) : null;
+        if (cached != null && (cached.getVersion() != todo.getVersion() || owner != todo.getUserId())) {
+            // Any read this one overtook was already refused by whatever made the new version
+            update(todo);
+            return;
+        }
+        index(todo.getUserId(), entryFor(todo.getUserId()), new Todo(todo));
+        evictOverBudget();
+    }
+
+    /**
+     * Records a todo that was just created or updated in the database.
+     */
+    public synchronized void writeTodo(Todo todo) {
+        generation++;
+        update(todo);
+    }
+
+    private void update(Todo todo) {
+        Integer previousOwner = ownerById.get(todo.getId());
+        if (previousOwner != null && previousOwner != todo.getUserId()) {
+            invalidateUser(previousOwner);
+        }
+        UserEntry entry = users.get(todo.getUserId());
+        if (entry == null) {
+            return;
+        }
+        Todo copy = new Todo(todo);
+        entry.pages.clear();
+        if (entry.all != null) {
+            entry.all.removeIf(cached -> cached.getId() == todo.getId());
+            entry.all.add(copy);
+        }
+        index(todo.getUserId(), entry, copy);
+        evictOverBudget();
+    }
+
+    public synchronized void removeTodo(int id) {
+        generation++;
+        Integer owner = ownerById.remove(id);
+        UserEntry entry = owner != null ? users.get(owner) : null;
+        if (entry == null) {
+            return;
+        }
+        if (entry.byId.remove(id) != null) {
+            cachedTodos--;
+        }
+        entry.pages.clear();
+        if (entry.all != null) {
+            entry.all.removeIf(cached -> cached.getId() == id);
+        }
+    }
+
+    /**
+     * Applies a change reported by the database, such as one from {@link TodoChangeListener}.
+     * Todos already cached at the reported version or a later one, which includes this
+     * process's own writes, are left alone. Any other named todo is dropped together with the
+     * lists and pages of its cached owner and of the reported user. A change that does not
+     * name its todos and their versions drops everything cached for the user.
+     */
+    public synchronized void applyChange(TodoChange change) {
+        // Even a change skipped below may be missing from a read still running
+        generation++;
+        if (!change.hasVersions()) {
+            invalidateUser(change.userId());
+            return;
+        }
+        boolean delete = change.operation() == TodoChange.Operation.DELETE;
+        for (int i = 0; i < change.ids().size(); i++) {
+            int id = change.ids().get(i);
+            Integer owner = ownerById.get(id);
+            UserEntry entry = owner != null ? users.get(owner) : null;
+            Todo cached = entry != null ? entry.byId.get(id) : null;
+            if (delete ? cached == null : cached != null && cached.getVersion() >= change.versions().get(i)) {
+                continue;
+            }
+            if (cached != null) {
+                entry.byId.remove(id);
+                ownerById.remove(id);
+                cachedTodos--;
+                entry.pages.clear();
+                entry.all = null;
+            }
+            UserEntry reported = users.get(change.userId());
+            if (reported != null) {
+                reported.pages.clear();
+                reported.all = null;
+            }
+        }
+    }
+
+    public synchronized void invalidateUser(int userId) {
+        generation++;
+        UserEntry entry = users.remove(userId);
+        if (entry != null) {
+            drop(entry);
+        }
+    }
+
+    public synchronized void clear() {
+        generation++;
+        users.clear();
+        ownerById.clear();
+        cachedTodos = 0;
+    }
+
+    public synchronized Stats getStats() {
+        return new Stats(hits, misses, evictions, cachedTodos);
+    }
+
+    private <T> T record(T cached) {
+        if (cached != null) {
+            hits++;
+        } else {
+            misses++;
+        }
+        return cached;
+    }
+
+    private UserEntry entryFor(int userId) {
+        return users.computeIfAbsent(userId, id -> new UserEntry());
+    }
+
+    private void index(int userId, UserEntry entry, Todo todo) {
+        if (entry.byId.put(todo.getId(), todo) == null) {
+            cachedTodos++;
+        }
+        ownerById.put(todo.getId(), userId);
+    }
+
+    private void evictOverBudget() {
+        Iterator<UserEntry> eldest = users.values().iterator();
+        while (cachedTodos > maxTodos && eldest.hasNext()) {
+            UserEntry entry = eldest.next();
+            eldest.remove();
+            drop(entry);
+            evictions++;
+        }
+    }
+
+    private void drop(UserEntry entry) {
+        for (Integer id : entry.byId.keySet()) {
+            ownerById.remove(id);
+        }
+        cachedTodos -= entry.byId.size();
+    }
+
+    private static List<Todo> copies(List<Todo> todos) {
+        List<Todo> copies = new ArrayList<>(todos.size());
+        for (Todo todo : todos) {
+            copies.add(new Todo(todo));
+        }
+        return copies;
+    }
+
+    private static String pageKey(String cursor, int pageSize) {
+        return cursor + "/" + pageSize;
+    }
+}
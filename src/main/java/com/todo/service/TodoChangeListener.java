@@ -0,0 +1,191 @@
+package com.todo.service;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.config.PropertiesLoader;
+import com.todo.model.TodoChange;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Delivers the changes published by the todos triggers on the {@value #CHANNEL} channel to
+ * subscribers of the affected user. It holds one connection of its own, outside the pool,
+ * and waits on it from a daemon thread, so subscribers learn about writes made by any
+ * process without querying for them.
+ *
+ * Subscribers are called on the listener thread. If the connection drops it is reopened,
+ * and since notifications sent in between are lost, every subscriber is then told to reload.
+ * Failure listeners hear about the drop; a failing subscriber or failure listener is logged.
+ */
+public class TodoChangeListener implements AutoCloseable {
+
+    static final String CHANNEL = "todo_changes";
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+    private static final Logger log = LoggerFactory.getLogger(TodoChangeListener.class);
+
+    private final Map<Integer, List<Consumer<TodoChange>>> subscribers = new ConcurrentHashMap<>();
+    private final List<Consumer<RuntimeException>> failureListeners = new CopyOnWriteArrayList<>();
+    private final int pollMillis;
+    private final Thread thread;
+    private volatile boolean closed;
+
+    public TodoChangeListener() {
+        this(PropertiesLoader.getIntProperty("todo.live.pollMillis", 500));
+    }
+
+    /**
+     * @param pollMillis how long one wait for notifications may block, which bounds how long
+     *                   the connection stays open after {@link #close}
+     */
+    public TodoChangeListener(int pollMillis) {
+        if (pollMillis <= 0) {
+            throw new IllegalArgumentException("Poll interval must be positive");
+        }
+        this.pollMillis = pollMillis;
+        this.thread = new Thread(this::listen, "todo-changes");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    public void subscribe(int userId, Consumer<TodoChange> subscriber) {
+        subscribers.computeIfAbsent(userId, id -> new CopyOnWriteArrayList<>()).add(subscriber);
+    }
+
+    public void unsubscribe(int userId, Consumer<TodoChange> subscriber) {
+        subscribers.computeIfPresent(userId, (id, list) -> {
+            list.remove(subscriber);
+            return list.isEmpty() ? null : list;
+        });
+    }
+
+    /**
+     * Registers a listener told, on the listener thread, when the connection drops after it
+     * last worked. Reconnecting goes on regardless.
+     */
+    public void addFailureListener(Consumer<RuntimeException> listener) {
+        failureListeners.add(listener);
+    }
+
+    public void removeFailureListener(Consumer<RuntimeException> listener) {
+        failureListeners.remove(listener);
+    }
+
+    private void listen() {
+        boolean reconnecting = false;
+        while (!closed) {
+            try (Connection conn = DatabaseConfig.openDedicatedConnection()) {
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("LISTEN " + CHANNEL);
+                }
+                if (reconnecting) {
+                    reconnecting = false;
+                    reloadAll();
+                }
+                PGConnection pgConnection = conn.unwrap(PGConnection.class);
+                while (!closed) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications == null) {
+                        continue;
+                    }
+                    for (PGNotification notification : notifications) {
+                        TodoChange change = parse(notification.getParameter());
+                        if (change != null) {
+                            publish(change);
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (closed) {
+                    return;
+                }
+                if (!reconnecting) {
+                    notifyFailure(new RuntimeException("Database error: " + e.getMessage(), e));
+                }
+                reconnecting = true;
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void reloadAll() {
+        for (int userId : subscribers.keySet()) {
+            publish(new TodoChange(TodoChange.Operation.UPDATE, userId, List.of()));
+        }
+    }
+
+    private void notifyFailure(RuntimeException failure) {
+        for (Consumer<RuntimeException> listener : failureListeners) {
+            try {
+                listener.accept(failure);
+            } catch (RuntimeException e) {
+                log.warn("Todo change failure listener failed", e);
+            }
+        }
+    }
+
+    private void publish(TodoChange change) {
+        for (Consumer<TodoChange> subscriber : subscribers.getOrDefault(change.userId(), List.of())) {
+            try {
+                subscriber.accept(change);
+            } catch (RuntimeException e) {
+                // One failing subscriber must not stop the others or the listener thread
+                log.warn("Todo change subscriber failed", e);
+            }
+        }
+    }
+
+    /**
+     * Parses an {@code <op>:<user_id>:<id>,<id>,...:<version>,<version>,...} payload, or
+     * returns null if it is not one. The version list may be missing.
+     */
+    static TodoChange parse(String payload) {
+        String[] parts = payload.split(":", -1);
+        if (parts.length != 3 && parts.length != 4) {
+            return null;
+        }
+        try {
+            TodoChange.Operation operation = TodoChange.Operation.valueOf(parts[0]);
+            int userId = Integer.parseInt(parts[1]);
+            List<Integer> ids = parseInts(parts[2]);
+            List<Integer> versions = parts.length == 4 ? parseInts(parts[3]) : List.of();
+            if (!versions.isEmpty() && versions.size() != ids.size()) {
+                return null;
+            }
+            return new TodoChange(operation, userId, ids, versions);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static List<Integer> parseInts(String list) {
+        List<Integer> values = new ArrayList<>();
+        if (!list.isEmpty()) {
+            for (String value : list.split(",")) {
+                values.add(Integer.parseInt(value));
+            }
+        }
+        return List.copyOf(values);
+    }
+
+    @Override
+    public void close() {
+        closed = true;
+        // Wakes the thread if it is waiting to reconnect; a pending poll ends on its own
+        thread.interrupt();
+    }
+}
@@ -0,0 +1,177 @@
+package com.todo.service;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.config.PropertiesLoader;
+import com.todo.model.Priority;
+import com.todo.model.Status;
+import com.todo.model.Tags;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.function.IntConsumer;
+
+/**
+ * Writes a user's todos to a {@link Writer} as they are read. The rows come through a
+ * server-side cursor a fetch at a time, so memory use stays the same however many todos the
+ * user has. Rows are written as stored, without the validation a new todo goes through, so
+ * an export never fails on old data.
+ */
+public class TodoExporter {
+
+    private final int fetchSize;
+
+    public TodoExporter() {
+        this(PropertiesLoader.getIntProperty("todo.export.fetchSize", 1000));
+    }
+
+    public TodoExporter(int fetchSize) {
+        if (fetchSize <= 0) {
+            throw new IllegalArgumentException("Fetch size must be positive");
+        }
+        this.fetchSize = fetchSize;
+    }
+
+    /**
+     * Writes all of the user's todos in due date order. The writer is flushed but left open.
+     *
+     * @param progress told the number of todos written so far after each fetch, or null. It
+     *                 may throw to abort the export.
+     * @return the number of todos written
+     */
+    public int export(int userId, TodoFileFormat format, Writer out, IntConsumer progress) throws IOException {
+        if (format == null || out == null) {
+            throw new IllegalArgumentException("Format and writer cannot be null");
+        }
+        
+        int written = 0;
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            // pgjdbc only fetches through a cursor inside a transaction
+            conn.setAutoCommit(false);
+            try (PreparedStatement ps = conn.prepareStatement(
+                     "SELECT id, user_specific_id, title, description, due_date, priority, tag, status " +
+                     "FROM todos WHERE user_id = ? ORDER BY due_date, id")) {
+                ps.setFetchSize(fetchSize);
+                ps.setInt(1, userId);
+                
+                if (format == TodoFileFormat.CSV) {
+                    out.write(String.join(",", TodoFileFormat.FIELDS));
+                    out.write('\n');
+                }
+                try (ResultSet rs = ps.executeQuery()) {
+                    Object[] values = new Object[TodoFileFormat.FIELDS.size()];
+                    while (rs.next()) {
+                        values[0] = rs.getInt(1);
+                        int userSpecificId = rs.getInt(2);
+                        values[1] = rs.wasNull() ? null : userSpecificId;
+                        values[2] = rs.getString(3);
+                        values[3] = rs.getString(4);
+                        values[4] = rs.getObject(5, LocalDate.class);
+                        values[5] = TodoRowDecoder.fromCode(rs.getShort(6), rs.wasNull(), TodoRowDecoder.PRIORITY_BY_CODE, Priority.MEDIUM);
+                        values[6] = TodoRowDecoder.fromCode(rs.getShort(7), rs.wasNull(), TodoRowDecoder.TAG_BY_CODE, Tags.Work);
+                        values[7] = TodoRowDecoder.fromCode(rs.getShort(8), rs.wasNull(), TodoRowDecoder.STATUS_BY_CODE, Status.PENDING);
+                        if (format == TodoFileFormat.CSV) {
+                            writeCsvRow(out, values);
+                        } else {
+                            writeJsonLine(out, values);
+                        }
+                        if (++written % fetchSize == 0 && progress != null) {
+                            progress.accept(written);
+                        }
+                    }
+                }
+                conn.commit();
+            } catch (SQLException | IOException | RuntimeException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+        out.flush();
+        if (progress != null) {
+            progress.accept(written);
+        }
+        return written;
+    }
+
+    private static void writeCsvRow(Writer out, Object[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            if (values[i] != null) {
+                writeCsvField(out, values[i].toString());
+            }
+        }
+        out.write('\n');
+    }
+
+    // Quoted only when needed, with quotes doubled, as RFC 4180 has it
+    private static void writeCsvField(Writer out, String value) throws IOException {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            out.write(value);
+            return;
+        }
+        out.write('"');
+        out.write(value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static void writeJsonLine(Writer out, Object[] values) throws IOException {
+        out.write('{');
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                out.write(',');
+            }
+            writeJsonString(out, TodoFileFormat.FIELDS.get(i));
+            out.write(':');
+            Object value = values[i];
+            if (value == null) {
+                out.write("null");
+            } else if (value instanceof Integer) {
+                out.write(value.toString());
+            } else {
+                writeJsonString(out, value.toString());
+            }
+        }
+        out.write("}\n");
+    }
+
+    private static void writeJsonString(Writer out, String value) throws IOException {
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"':
+                    out.write("\\\"");
+                    break;
+                case '\\':
+                    out.write("\\\\");
+                    break;
+                case '\n':
+                    out.write("\\n");
+                    break;
+                case '\r':
+                    out.write("\\r");
+                    break;
+                case '\t':
+                    out.write("\\t");
+                    break;
+                default:
+                    if (c < 0x20) {
+                        out.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        out.write(c);
+                    }
+            }
+        }
+        out.write('"');
+    }
+}
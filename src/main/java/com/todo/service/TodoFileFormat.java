@@ -0,0 +1,38 @@
+package com.todo.service;
+
+import java.util.List;
+
+/**
+ * File formats todos are exported to and imported from. Both carry the same {@link #FIELDS}:
+ * CSV as a header row followed by one row per todo, JSON lines as one object per line.
+ * Enum values are written by name and dates as yyyy-MM-dd.
+ */
+public enum TodoFileFormat {
+    CSV("csv"),
+    JSON_LINES("jsonl");
+
+    public static final List<String> FIELDS =
+        List.of("id", "user_specific_id", "title", "description", "due_date", "priority", "tag", "status");
+
+    private final String extension;
+
+    TodoFileFormat(String extension) {
+        this.extension = extension;
+    }
+
+    public String extension() {
+        return extension;
+    }
+
+    /**
+     * Returns the format whose extension the file name ends with, or null if there is none.
+     */
+    public static TodoFileFormat forFileName(String fileName) {
+        for (TodoFileFormat format : values()) {
+            if (fileName.toLowerCase().endsWith("." + format.extension)) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
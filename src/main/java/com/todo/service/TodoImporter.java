@@ -0,0 +1,328 @@
+package com.todo.service;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.config.PropertiesLoader;
+import com.todo.model.Priority;
+import com.todo.model.Status;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.model.TodoImportResult;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.IntConsumer;
+
+/**
+ * Loads todos from a {@link TodoFileFormat} file in bulk. Rows are checked against the same
+ * rules as a todo created by hand and streamed with COPY into an unlogged staging table made
+ * for the import, then moved into todos by a few set-wise statements. All of it runs in one
+ * transaction, so the rows that pass go in together or not at all.
+ *
+ * Rows that fail, whether on their own or because their user specific id is already taken,
+ * are left out and reported by line rather than failing the import. Ids in the file follow
+ * the rule of {@link TodoService#createTodo}: they must not fall in a block of ids the
+ * user's counter has handed out, and the counter moves past them. Services caching the
+ * user's todos hear of the import through the change notifications, as for any other write
+ * they did not make.
+ */
+public class TodoImporter {
+
+    private static final List<String> REQUIRED_FIELDS = List.of("title", "description", "due_date", "priority", "tag");
+    private static final int PROGRESS_INTERVAL = 10_000;
+    private static final int COPY_BUFFER_SIZE = 65536;
+
+    private final int maxErrors;
+
+    public TodoImporter() {
+        this(PropertiesLoader.getIntProperty("todo.import.maxErrors", 1000));
+    }
+
+    /**
+     * @param maxErrors how many rejected rows the result lists at most
+     */
+    public TodoImporter(int maxErrors) {
+        if (maxErrors < 0) {
+            throw new IllegalArgumentException("Max errors cannot be negative");
+        }
+        this.maxErrors = maxErrors;
+    }
+
+    /**
+     * Imports the todos read from {@code in} for the user. The id column of an exported file
+     * is ignored; rows without a user specific id are numbered from the user's counter in
+     * file order. The reader is left open.
+     *
+     * @param progress told the number of rows read so far every few thousand rows, or null.
+     *                 It may throw to abort the import, which then imports nothing.
+     */
+    public TodoImportResult importTodos(int userId, TodoFileFormat format, Reader in, IntConsumer progress) throws IOException {
+        TodoRecordReader reader = new TodoRecordReader(format, in);
+        reader.requireFields(REQUIRED_FIELDS);
+        String staging = "todo_import_" + UUID.randomUUID().toString().replace("-", "");
+        List<TodoImportResult.RowError> errors = new ArrayList<>();
+
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                if (userId <= 0 || !userExists(conn, userId)) {
+                    throw new SQLException("Invalid user ID: " + userId);
+                }
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("CREATE UNLOGGED TABLE " + staging + " (" +
+                                 "line INTEGER NOT NULL, user_specific_id INTEGER, seq INTEGER, title TEXT NOT NULL, " +
+                                 "description TEXT NOT NULL, due_date DATE NOT NULL, priority SMALLINT NOT NULL, " +
+                                 "tag SMALLINT NOT NULL, status SMALLINT NOT NULL)");
+                }
+
+                int[] counts = copyRows(conn, staging, userId, reader, errors, progress);
+                int failed = counts[0];
+                int unassigned = counts[1];
+                // Held until commit, so no block can be reserved over the ids checked below
+                int firstClaimable = TodoService.ID_ALLOCATOR.lock(conn, userId);
+                List<TodoImportResult.RowError> conflicts = new ArrayList<>();
+                failed += removeConflicts(conn, staging, userId, firstClaimable, conflicts);
+                errors.addAll(conflicts);
+
+                int imported = mergeRows(conn, staging, userId, unassigned);
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("DROP TABLE " + staging);
+                }
+                conn.commit();
+
+                errors.sort(Comparator.comparingInt(TodoImportResult.RowError::line));
+                List<TodoImportResult.RowError> reported = errors.size() > maxErrors ? errors.subList(0, maxErrors) : errors;
+                return new TodoImportResult(imported, failed, List.copyOf(reported));
+            } catch (SQLException | IOException | RuntimeException e) {
+                // The staging table was created in this transaction, so it goes with it
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Validates every record and copies the valid ones into the staging table. Rows without a
+     * user specific id are numbered from 1 in file order as they go, so the merge can assign
+     * ids without sorting. Returns the number of rejected rows and of rows numbered.
+     */
+    private int[] copyRows(Connection conn, String staging, int userId, TodoRecordReader reader,
+                           List<TodoImportResult.RowError> errors, IntConsumer progress) throws SQLException, IOException {
+        int read = 0;
+        int failed = 0;
+        int unassigned = 0;
+        PGCopyOutputStream copy = new PGCopyOutputStream(conn.unwrap(PGConnection.class),
+            "COPY " + staging + " (line, user_specific_id, seq, title, description, due_date, priority, tag, status) " +
+            "FROM STDIN (FORMAT csv)", COPY_BUFFER_SIZE);
+        try {
+            Writer out = new BufferedWriter(new OutputStreamWriter(copy, StandardCharsets.UTF_8), COPY_BUFFER_SIZE);
+            TodoRecordReader.Record record;
+            while ((record = reader.next()) != null) {
+                String error = record.error();
+                if (error == null) {
+                    try {
+                        if (writeRow(out, userId, record.line(), unassigned + 1, record.values())) {
+                            unassigned++;
+                        }
+                    } catch (IllegalArgumentException e) {
+                        error = e.getMessage();
+                    }
+                }
+                if (error != null) {
+                    failed++;
+                    if (errors.size() < maxErrors) {
+                        errors.add(new TodoImportResult.RowError(record.line(), error));
+                    }
+                }
+                if (++read % PROGRESS_INTERVAL == 0 && progress != null) {
+                    progress.accept(read);
+                }
+            }
+            out.flush();
+            copy.endCopy();
+        } finally {
+            if (copy.isActive()) {
+                copy.cancelCopy();
+            }
+        }
+        if (progress != null) {
+            progress.accept(read);
+        }
+        return new int[] {failed, unassigned};
+    }
+
+    /**
+     * Writes the record as a COPY csv row, or throws IllegalArgumentException if it is not a
+     * valid todo. Returns whether the row took {@code seq}, which it does when it leaves its
+     * user specific id to be assigned.
+     */
+    private static boolean writeRow(Writer out, int userId, int line, int seq, Map<String, String> values) throws IOException {
+        Integer userSpecificId = parseUserSpecificId(values.get("user_specific_id"));
+        LocalDate dueDate = parseDate(values.get("due_date"));
+        Priority priority = parseEnum(Priority.class, "priority", values.get("priority"));
+        Tags tag = parseEnum(Tags.class, "tag", values.get("tag"));
+        Status status = values.get("status") == null ? Status.PENDING : parseEnum(Status.class, "status", values.get("status"));
+        // Not the Todo constructor, which turns away past due dates: an export holds overdue
+        // and completed todos, and they have to come back
+        String title = values.get("title");
+        String description = values.get("description");
+        Todo.checkTitle(title);
+        Todo.checkDescription(description);
+
+        out.write(Integer.toString(line));
+        out.write(',');
+        if (userSpecificId != null) {
+            out.write(userSpecificId.toString());
+            out.write(',');
+        } else {
+            out.write(',');
+            out.write(Integer.toString(seq));
+        }
+        out.write(',');
+        writeQuoted(out, title);
+        out.write(',');
+        writeQuoted(out, description);
+        out.write(',');
+        out.write(dueDate.toString());
+        out.write(',');
+        out.write(Short.toString(TodoRowDecoder.code(priority)));
+        out.write(',');
+        out.write(Short.toString(TodoRowDecoder.code(tag)));
+        out.write(',');
+        out.write(Short.toString(TodoRowDecoder.code(status)));
+        out.write('\n');
+        return userSpecificId == null;
+    }
+
+    // Always quoted, since an unquoted empty field is NULL to COPY
+    private static void writeQuoted(Writer out, String value) throws IOException {
+        out.write('"');
+        out.write(value.indexOf('"') < 0 ? value : value.replace("\"", "\"\""));
+        out.write('"');
+    }
+
+    private static Integer parseUserSpecificId(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            int id = Integer.parseInt(value.trim());
+            if (id > 0) {
+                return id;
+            }
+        } catch (NumberFormatException e) {
+            // Reported below
+        }
+        throw new IllegalArgumentException("Invalid user specific ID: " + value);
+    }
+
+    private static LocalDate parseDate(String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Due date cannot be null");
+        }
+        try {
+            return LocalDate.parse(value.trim());
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("Invalid due date: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E parseEnum(Class<E> type, String field, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException(Character.toUpperCase(field.charAt(0)) + field.substring(1) + " cannot be null");
+        }
+        String name = value.trim();
+        for (E constant : type.getEnumConstants()) {
+            if (constant.name().equalsIgnoreCase(name)) {
+                return constant;
+            }
+        }
+        throw new IllegalArgumentException("Invalid " + field + ": " + value);
+    }
+
+    /**
+     * Removes staged rows whose user specific id is below {@code firstClaimable}, or the user
+     * already has, or an earlier line of the file uses, and records them as errors. Returns
+     * the number removed.
+     */
+    private int removeConflicts(Connection conn, String staging, int userId, int firstClaimable,
+                                List<TodoImportResult.RowError> errors) throws SQLException {
+        int removed = 0;
+        try (PreparedStatement ps = conn.prepareStatement(
+                "DELETE FROM " + staging + " WHERE line IN (" +
+                "SELECT line FROM (SELECT line, user_specific_id, " +
+                "ROW_NUMBER() OVER (PARTITION BY user_specific_id ORDER BY line) AS n " +
+                "FROM " + staging + " WHERE user_specific_id IS NOT NULL) numbered " +
+                "WHERE n > 1 OR user_specific_id < ? OR EXISTS (SELECT 1 FROM todos t " +
+                "WHERE t.user_id = ? AND t.user_specific_id = numbered.user_specific_id)) " +
+                "RETURNING line, user_specific_id")) {
+            ps.setInt(1, firstClaimable);
+            ps.setInt(2, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    removed++;
+                    if (errors.size() < maxErrors) {
+                        errors.add(new TodoImportResult.RowError(rs.getInt(1), "User specific ID " + rs.getInt(2) + " is already taken"));
+                    }
+                }
+            }
+        }
+        return removed;
+    }
+
+    /**
+     * Moves the staged rows into todos, numbering those without a user specific id from a
+     * block reserved in one go. Returns the number of rows inserted.
+     */
+    private static int mergeRows(Connection conn, String staging, int userId, int unassigned) throws SQLException {
+        // Claim the ids the file brings first, so the block reserved below cannot hold them
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MIN(user_specific_id), MAX(user_specific_id) FROM " + staging)) {
+            rs.next();
+            int first = rs.getInt(1);
+            if (!rs.wasNull() && !TodoService.ID_ALLOCATOR.claim(conn, userId, first, rs.getInt(2))) {
+                throw new SQLException("User specific ID " + first + " is already taken");
+            }
+        }
+        int firstSpecificId = unassigned > 0 ? TodoService.ID_ALLOCATOR.reserve(conn, userId, unassigned) : 0;
+
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO todos (user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+                "SELECT COALESCE(user_specific_id, ? - 1 + seq), ?, title, description, due_date, priority, tag, status " +
+                "FROM " + staging)) {
+            ps.setInt(1, firstSpecificId);
+            ps.setInt(2, userId);
+            return ps.executeUpdate();
+        }
+    }
+
+    private static boolean userExists(Connection conn, int userId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM users WHERE id = ?")) {
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+}
@@ -0,0 +1,359 @@
+package com.todo.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the records of a {@link TodoFileFormat} file one at a time as field name to value
+ * maps. Values are kept as text, and empty CSV fields, JSON nulls and missing fields all read
+ * as null; making sense of them is left to the caller.
+ *
+ * A record that cannot be parsed is returned with an error instead of values, and reading
+ * goes on with the next one, so one bad line does not sink a whole file.
+ */
+class TodoRecordReader {
+
+    record Record(int line, Map<String, String> values, String error) {
+    }
+
+    private final TodoFileFormat format;
+    private final Reader in;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+    private int line = 1;
+    private List<String> header;
+
+    TodoRecordReader(TodoFileFormat format, Reader in) {
+        if (format == null || in == null) {
+            throw new IllegalArgumentException("Format and reader cannot be null");
+        }
+        this.format = format;
+        this.in = in;
+    }
+
+    /**
+     * Checks that the file names every one of the given fields. For CSV this reads the
+     * header row; JSON lines name their fields in each record, so missing ones read as null.
+     */
+    void requireFields(List<String> fields) throws IOException {
+        if (format != TodoFileFormat.CSV || header != null) {
+            return;
+        }
+        List<String> names = null;
+        while (names == null) {
+            names = readCsvFields(new StringBuilder());
+            if (names == null) {
+                throw new IllegalArgumentException("File is empty");
+            }
+            if (names.size() == 1 && names.get(0).isEmpty()) {
+                names = null;
+            }
+        }
+        header = new ArrayList<>(names.size());
+        for (String name : names) {
+            header.add(name.trim().toLowerCase());
+        }
+        for (String field : fields) {
+            if (!header.contains(field)) {
+                throw new IllegalArgumentException("Missing column: " + field);
+            }
+        }
+    }
+
+    /**
+     * Returns the next record, or null at the end of the input. Blank lines are skipped.
+     */
+    Record next() throws IOException {
+        if (format == TodoFileFormat.CSV) {
+            if (header == null) {
+                requireFields(List.of());
+            }
+            return nextCsv();
+        }
+        return nextJson();
+    }
+
+    private Record nextCsv() throws IOException {
+        StringBuilder field = new StringBuilder();
+        while (true) {
+            int start = line;
+            List<String> fields;
+            try {
+                fields = readCsvFields(field);
+            } catch (IllegalArgumentException e) {
+                return new Record(start, null, e.getMessage());
+            }
+            if (fields == null) {
+                return null;
+            }
+            if (fields.size() == 1 && fields.get(0).isEmpty()) {
+                continue;
+            }
+            if (fields.size() != header.size()) {
+                return new Record(start, null, "Expected " + header.size() + " fields but got " + fields.size());
+            }
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                String value = fields.get(i);
+                values.put(header.get(i), value.isEmpty() ? null : value);
+            }
+            return new Record(start, values, null);
+        }
+    }
+
+    /**
+     * Reads one RFC 4180 record, which may span lines inside quotes, or returns null at the
+     * end of the input. Rows may end in CRLF or LF.
+     */
+    private List<String> readCsvFields(StringBuilder field) throws IOException {
+        int c = read();
+        if (c < 0) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        while (true) {
+            if (quoted) {
+                if (c < 0) {
+                    throw new IllegalArgumentException("Unterminated quoted field");
+                }
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\n' || c < 0) {
+                break;
+            } else if (c == '\r' && peek() == '\n') {
+                read();
+                break;
+            } else {
+                field.append((char) c);
+            }
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private Record nextJson() throws IOException {
+        StringBuilder text = new StringBuilder();
+        while (true) {
+            int start = line;
+            text.setLength(0);
+            int c = read();
+            if (c < 0) {
+                return null;
+            }
+            while (c >= 0 && c != '\n') {
+                text.append((char) c);
+                c = read();
+            }
+            String object = text.toString().strip();
+            if (object.isEmpty()) {
+                continue;
+            }
+            try {
+                return new Record(start, new JsonObjectParser(object).parse(), null);
+            } catch (IllegalArgumentException e) {
+                return new Record(start, null, e.getMessage());
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        char c = buffer[position++];
+        if (c == '\n') {
+            line++;
+        }
+        return c;
+    }
+
+    private int peek() throws IOException {
+        if (position == limit && !fill()) {
+            return -1;
+        }
+        return buffer[position];
+    }
+
+    private boolean fill() throws IOException {
+        int read = in.read(buffer);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    /**
+     * Parses one flat JSON object whose values are strings, numbers, booleans or null.
+     */
+    private static final class JsonObjectParser {
+        private final String text;
+        private int index;
+
+        JsonObjectParser(String text) {
+            this.text = text;
+        }
+
+        Map<String, String> parse() {
+            Map<String, String> values = new HashMap<>();
+            expect('{');
+            skipWhitespace();
+            if (peekChar() == '}') {
+                index++;
+            } else {
+                while (true) {
+                    skipWhitespace();
+                    String name = parseString();
+                    skipWhitespace();
+                    expect(':');
+                    skipWhitespace();
+                    values.put(name.toLowerCase(), parseValue());
+                    skipWhitespace();
+                    if (peekChar() == ',') {
+                        index++;
+                    } else {
+                        expect('}');
+                        break;
+                    }
+                }
+            }
+            skipWhitespace();
+            if (index < text.length()) {
+                throw new IllegalArgumentException("Unexpected text after JSON object");
+            }
+            return values;
+        }
+
+        private String parseValue() {
+            char c = peekChar();
+            if (c == '"') {
+                return parseString();
+            }
+            if (c == '{' || c == '[') {
+                throw new IllegalArgumentException("Nested JSON values are not supported");
+            }
+            int start = index;
+            while (index < text.length() && ",} \t\r".indexOf(text.charAt(index)) < 0) {
+                index++;
+            }
+            String literal = text.substring(start, index);
+            if (literal.equals("null")) {
+                return null;
+            }
+            if (literal.isEmpty() || !(literal.equals("true") || literal.equals("false") || isNumber(literal))) {
+                throw new IllegalArgumentException("Invalid JSON value at column " + (start + 1));
+            }
+            return literal;
+        }
+
+        private String parseString() {
+            expect('"');
+            StringBuilder value = new StringBuilder();
+            while (true) {
+                if (index >= text.length()) {
+                    throw new IllegalArgumentException("Unterminated JSON string");
+                }
+                char c = text.charAt(index++);
+                if (c == '"') {
+                    return value.toString();
+                }
+                if (c != '\\') {
+                    value.append(c);
+                    continue;
+                }
+                if (index >= text.length()) {
+                    throw new IllegalArgumentException("Unterminated JSON string");
+                }
+                char escaped = text.charAt(index++);
+                switch (escaped) {
+                    case '"':
+                    case '\\':
+                    case '/':
+                        value.append(escaped);
+                        break;
+                    case 'b':
+                        value.append('\b');
+                        break;
+                    case 'f':
+                        value.append('\f');
+                        break;
+                    case 'n':
+                        value.append('\n');
+                        break;
+                    case 'r':
+                        value.append('\r');
+                        break;
+                    case 't':
+                        value.append('\t');
+                        break;
+                    case 'u':
+                        value.append(parseUnicodeEscape());
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Invalid JSON escape");
+                }
+            }
+        }
+
+        private char parseUnicodeEscape() {
+            if (index + 4 > text.length()) {
+                throw new IllegalArgumentException("Invalid JSON escape");
+            }
+            try {
+                char c = (char) Integer.parseInt(text.substring(index, index + 4), 16);
+                index += 4;
+                return c;
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Invalid JSON escape");
+            }
+        }
+
+        private static boolean isNumber(String literal) {
+            try {
+                Double.parseDouble(literal);
+                return !literal.startsWith("+") && Character.isDigit(literal.charAt(literal.length() - 1));
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+
+        private void expect(char expected) {
+            if (peekChar() != expected) {
+                throw new IllegalArgumentException("Expected '" + expected + "' at column " + (index + 1));
+            }
+            index++;
+        }
+
+        private char peekChar() {
+            return index < text.length() ? text.charAt(index) : '\0';
+        }
+
+        private void skipWhitespace() {
+            while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+                index++;
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.todo.service;
+
+import com.todo.model.Priority;
+import com.todo.model.Status;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Decodes todo rows selected with {@link #COLUMNS} by column position. Priority, tag and
+ * status are stored as SMALLINT codes that index straight into the tables below, so no
+ * string is read or parsed; unknown or null codes fall back to the defaults without
+ * throwing. Status is the only record of completion, so {@link Todo#isCompleted} is
+ * derived from it. {@link #code} gives the code to bind when writing.
+ */
+public final class TodoRowDecoder {
+
+    public static final String COLUMNS =
+        "id, user_id, user_specific_id, title, description, due_date, priority, tag, status, version";
+
+    private static final int ID = 1;
+    private static final int USER_ID = 2;
+    private static final int USER_SPECIFIC_ID = 3;
+    private static final int TITLE = 4;
+    private static final int DESCRIPTION = 5;
+    private static final int DUE_DATE = 6;
+    private static final int PRIORITY = 7;
+    private static final int TAG = 8;
+    private static final int STATUS = 9;
+    private static final int VERSION = 10;
+
+    // The position of a value is its stored code. The codes are part of the schema
+    // (V6__compact_enum_columns.sql), so entries must never be reordered, only appended.
+    static final Priority[] PRIORITY_BY_CODE = {Priority.HIGH, Priority.MEDIUM, Priority.LOW};
+    static final Tags[] TAG_BY_CODE = {Tags.Work, Tags.Home, Tags.Urgent};
+    static final Status[] STATUS_BY_CODE = {Status.PENDING, Status.COMPLETED};
+
+    private static final Map<Enum<?>, Short> CODES = new HashMap<>();
+
+    static {
+        addCodes(PRIORITY_BY_CODE);
+        addCodes(TAG_BY_CODE);
+        addCodes(STATUS_BY_CODE);
+    }
+
+    private TodoRowDecoder() {
+    }
+
+    public static Todo decode(ResultSet rs) throws SQLException {
+        Priority priority = fromCode(rs.getShort(PRIORITY), rs.wasNull(), PRIORITY_BY_CODE, Priority.MEDIUM);
+        Tags tag = fromCode(rs.getShort(TAG), rs.wasNull(), TAG_BY_CODE, Tags.Work);
+
+        int userId = rs.getInt(USER_ID);
+        Todo todo = Todo.stored(rs.getInt(ID), rs.getString(TITLE), rs.getString(DESCRIPTION),
+            rs.getObject(DUE_DATE, LocalDate.class), priority, tag);
+        todo.setUserId(userId);
+
+        int userSpecificId = rs.getInt(USER_SPECIFIC_ID);
+        if (!rs.wasNull()) {
+            todo.setUserSpecificId(userSpecificId);
+        }
+
+        Status status = fromCode(rs.getShort(STATUS), rs.wasNull(), STATUS_BY_CODE, Status.PENDING);
+        todo.setStatus(status);
+        todo.setCompleted(status == Status.COMPLETED);
+        todo.setVersion(rs.getInt(VERSION));
+        return todo;
+    }
+
+    /**
+     * Returns the stored code of a priority, tag or status.
+     */
+    static short code(Enum<?> value) {
+        Short code = CODES.get(value);
+        if (code == null) {
+            throw new IllegalArgumentException("No stored code for " + value);
+        }
+        return code;
+    }
+
+    static <E> E fromCode(short code, boolean isNull, E[] byCode, E fallback) {
+        return isNull || code < 0 || code >= byCode.length ? fallback : byCode[code];
+    }
+
+    private static void addCodes(Enum<?>[] byCode) {
+        for (short code = 0; code < byCode.length; code++) {
+            CODES.put(byCode[code], code);
+        }
+    }
+}
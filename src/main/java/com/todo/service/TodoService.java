@@ -1,73 +1,197 @@
 package com.todo.service;
 
 import com.todo.config.DatabaseConfig;
+import com.todo.config.PropertiesLoader;
 import com.todo.model.Priority;
+import com.todo.model.Reminder;
 import com.todo.model.Status;
 import com.todo.model.Tags;
 import com.todo.model.Todo;
+import com.todo.model.TodoChange;
+import com.todo.model.TodoDraft;
+import com.todo.model.TodoPage;
+import com.todo.model.TodoQuery;
+import com.todo.model.TodoStats;
+import com.todo.model.TodoUpdateResult;
 
+import java.nio.charset.StandardCharsets;
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class TodoService {
     
-    private int nextUserSpecificId = 1;
+    public static final int MAX_PAGE_SIZE = 500;
+    private static final String CURSOR_SEPARATOR = ":";
+    private static final String FOREIGN_KEY_VIOLATION = "23503";
+    private static final String QUERY_CANCELED = "57014";
+    private static final String STATS_SQL = statsQuery();
+    // Shared with TodoImporter
+    static final UserSpecificIdAllocator ID_ALLOCATOR =
+        new UserSpecificIdAllocator(PropertiesLoader.getIntProperty("todo.ids.blockSize", 20));
+    
+    private final AtomicInteger nextUserSpecificId = new AtomicInteger(1);
+    private final TodoCache cache;
+
+    public TodoService() {
+        this(new TodoCache(PropertiesLoader.getIntProperty("todo.cache.maxTodos", 0)));
+    }
 
+    public TodoService(TodoCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Creates a todo for the user. A {@code userSpecificId} of zero or less asks for the next
+     * id from the user's database counter. A positive value is stored as given; it must not
+     * already be taken by that user nor lie in a block of ids the counter has handed out, and
+     * the counter then moves past it.
+     */
     public Todo createTodo(int userSpecificId, int userId, String title, String description, LocalDate dueDate, Priority priority, Tags tag) {
         
-        if (title == null || title.trim().isEmpty()) {
-            throw new IllegalArgumentException("Title cannot be null or empty");
-        }
+        validateTodoFields(title, description, dueDate, priority, tag);
         
-        if (description == null || description.trim().isEmpty()) {
-            throw new IllegalArgumentException("Description cannot be null or empty");
+        // One statement: the EXISTS guard replaces a separate user lookup, and autocommit
+        // replaces the explicit transaction. An explicit id is claimed in the same statement,
+        // whose FROM yields no row if the claim fails.
+        boolean explicit = userSpecificId > 0;
+        String sql = explicit
+            ? "WITH claimed AS (" + UserSpecificIdAllocator.CLAIM_SQL + ") " +
+              "INSERT INTO todos (user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+              "SELECT ?, ?, ?, ?, ?::date, ?, ?, ? FROM claimed RETURNING id"
+            : "INSERT INTO todos (user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+              "SELECT ?, ?, ?, ?, ?::date, ?, ?, ? WHERE EXISTS (SELECT 1 FROM users WHERE id = ?) RETURNING id";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            
+            if (userId <= 0) {
+                throw new SQLException("Invalid user ID: " + userId);
+            }
+            
+            int index = 1;
+            if (explicit) {
+                ps.setInt(index++, userId);
+                ps.setInt(index++, userSpecificId);
+                ps.setInt(index++, userSpecificId);
+            }
+            int specificId = explicit ? userSpecificId : ID_ALLOCATOR.next(conn, userId);
+            ps.setInt(index++, specificId);
+            ps.setInt(index++, userId);
+            ps.setString(index++, title);
+            ps.setString(index++, description);
+            ps.setDate(index++, Date.valueOf(dueDate));
+            ps.setShort(index++, TodoRowDecoder.code(priority));
+            ps.setShort(index++, TodoRowDecoder.code(tag));
+            ps.setShort(index++, TodoRowDecoder.code(Status.PENDING));
+            if (!explicit) {
+                ps.setInt(index, userId);
+            }
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    // An unknown user fails the claim on the counter's foreign key instead
+                    throw new SQLException(explicit
+                        ? "User specific ID " + userSpecificId + " is already taken"
+                        : "Invalid user ID: " + userId);
+                }
+                Todo todo = new Todo(rs.getInt(1), userId, title, description, dueDate, priority, tag);
+                todo.setUserId(userId);
+                todo.setUserSpecificId(specificId);
+                todo.setCompleted(false);
+                todo.setStatus(Status.PENDING);
+                cache.writeTodo(todo);
+                return todo;
+            }
+        } catch (SQLException e) {
+            // The user can still be deleted between the EXISTS check and the insert
+            if (FOREIGN_KEY_VIOLATION.equals(e.getSQLState())) {
+                throw new RuntimeException("Database error: Invalid user ID: " + userId, e);
+            }
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
-        
-        if (dueDate == null) {
-            throw new IllegalArgumentException("DueDate cannot be null");
+    }
+
+    /**
+     * Inserts all drafts for one user in a single transaction. The user is checked once and
+     * the inserts are sent as one JDBC batch, so the cost is one round-trip per batch instead
+     * of two per todo. Drafts without a positive user specific id get consecutive ids
+     * reserved from the user's counter in the same transaction; positive ones are claimed
+     * under the same rule as in {@link #createTodo}. Returns the generated ids in the same
+     * order as the drafts.
+     */
+    public List<Integer> createTodos(int userId, List<TodoDraft> drafts) {
+        if (drafts == null) {
+            throw new IllegalArgumentException("Drafts cannot be null");
         }
-        
-        if (tag == null) {
-            throw new IllegalArgumentException("Tag cannot be null");
+        for (TodoDraft draft : drafts) {
+            if (draft == null) {
+                throw new IllegalArgumentException("Draft cannot be null");
+            }
+            validateTodoFields(draft.title(), draft.description(), draft.dueDate(), draft.priority(), draft.tag());
         }
-        if (priority == null) {
-            throw new IllegalArgumentException("Priority cannot be null");
+        if (drafts.isEmpty()) {
+            return new ArrayList<>();
         }
         
         try (Connection conn = DatabaseConfig.getConnection()) {
             conn.setAutoCommit(false);
             try {
-                try (PreparedStatement ps = conn.prepareStatement(
-                    "INSERT INTO todos (user_specific_id, user_id, title, description, due_date, priority, tag, completed, status) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?) RETURNING id")) {
+                if (userId <= 0 || !userExists(conn, userId)) {
+                    throw new SQLException("Invalid user ID: " + userId);
+                }
                 
-                    if (userId <= 0 || !userExists(conn, userId)) {
-                        throw new SQLException("Invalid user ID: " + userId);
+                int[] explicitIds = drafts.stream().mapToInt(TodoDraft::userSpecificId).filter(id -> id > 0).toArray();
+                if (explicitIds.length > 0) {
+                    int first = Arrays.stream(explicitIds).min().getAsInt();
+                    int last = Arrays.stream(explicitIds).max().getAsInt();
+                    if (!ID_ALLOCATOR.claim(conn, userId, first, last)) {
+                        throw new SQLException("User specific ID " + first + " is already taken");
                     }
+                }
+                int unassigned = drafts.size() - explicitIds.length;
+                int nextSpecificId = unassigned > 0 ? ID_ALLOCATOR.reserve(conn, userId, unassigned) : 0;
+                
+                try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO todos (user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", new String[] {"id"})) {
                     
-                    ps.setInt(1, userSpecificId);
-                    ps.setInt(2, userId);
-                    ps.setString(3, title);
-                    ps.setString(4, description);
-                    ps.setDate(5, Date.valueOf(dueDate));
-                    ps.setString(6, priority.toString());
-                    ps.setString(7, tag.toString());
-                    ps.setBoolean(8, false); 
-                    ps.setString(9, Status.PENDING.toString()); 
+                    for (TodoDraft draft : drafts) {
+                        ps.setInt(1, draft.userSpecificId() > 0 ? draft.userSpecificId() : nextSpecificId++);
+                        ps.setInt(2, userId);
+                        ps.setString(3, draft.title());
+                        ps.setString(4, draft.description());
+                        ps.setDate(5, Date.valueOf(draft.dueDate()));
+                        ps.setShort(6, TodoRowDecoder.code(draft.priority()));
+                        ps.setShort(7, TodoRowDecoder.code(draft.tag()));
+                        ps.setShort(8, TodoRowDecoder.code(Status.PENDING));
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
                     
-                    ResultSet rs = ps.executeQuery();
-                    rs.next(); // Assuming it will always return a result
-                    int generatedId = rs.getInt(1);
+                    List<Integer> ids = new ArrayList<>(drafts.size());
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        while (rs.next()) {
+                            ids.add(rs.getInt(1));
+                        }
+                    }
+                    if (ids.size() != drafts.size()) {
+                        throw new SQLException("Expected " + drafts.size() + " generated IDs but got " + ids.size());
+                    }
                     
                     conn.commit();
-                    Todo todo = new Todo(generatedId, userId, title, description, dueDate, priority, tag);
-                    todo.setUserSpecificId(userSpecificId);
-                    todo.setCompleted(false);
-                    todo.setStatus(Status.PENDING);
-                    return todo;
+                    cache.invalidateUser(userId);
+                    return ids;
                 }
             } catch (SQLException e) {
                 conn.rollback();
@@ -80,6 +204,27 @@ public class TodoService {
         }
     }
 
+    private void validateTodoFields(String title, String description, LocalDate dueDate, Priority priority, Tags tag) {
+        if (title == null || title.trim().isEmpty()) {
+            throw new IllegalArgumentException("Title cannot be null or empty");
+        }
+        
+        if (description == null || description.trim().isEmpty()) {
+            throw new IllegalArgumentException("Description cannot be null or empty");
+        }
+        
+        if (dueDate == null) {
+            throw new IllegalArgumentException("DueDate cannot be null");
+        }
+        
+        if (tag == null) {
+            throw new IllegalArgumentException("Tag cannot be null");
+        }
+        if (priority == null) {
+            throw new IllegalArgumentException("Priority cannot be null");
+        }
+    }
+
     private boolean userExists(Connection conn, int userId) throws SQLException {
         try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM users WHERE id = ?")) {
             ps.setInt(1, userId);
@@ -90,28 +235,47 @@ public class TodoService {
     }
 
     public Todo getTodoById(int id) {
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement ps = conn.prepareStatement(
-                 "SELECT * FROM todos WHERE id = ?")) {
+        Todo cached = cache.getTodo(id);
+        return cached != null ? cached : reloadTodoById(id);
+    }
+
+    /**
+     * Reads the todo from the database even when it is cached, and caches what it read. For
+     * callers that must not act on a copy that may have gone stale, such as one about to be
+     * edited.
+     */
+    public Todo reloadTodoById(int id) {
+        long readAt = cache.generation();
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            Todo todo = findTodoById(conn, id);
+            if (todo != null) {
+                cache.putTodo(todo, readAt);
+            }
+            return todo;
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    private Todo findTodoById(Connection conn, int id) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                 "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE id = ?")) {
             
             ps.setInt(1, id);
             
             try (ResultSet rs = ps.executeQuery()) {
                 if (rs.next()) {
-                    return mapResultSetToTodo(rs);
+                    return TodoRowDecoder.decode(rs);
                 }
             }
             return null;
-            
-        } catch (SQLException e) {
-            throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
     }
 
     public Todo updateTodo(int id, int userId, String title, String description, LocalDate dueDate, Priority priority, Tags tag, boolean completed) {
         try (Connection conn = DatabaseConfig.getConnection();
              PreparedStatement ps = conn.prepareStatement(
-                 "UPDATE todos SET user_id = ?, title = ?, description = ?, due_date = ?, priority = ?, tag = ?, completed = ?, status = ? WHERE id = ?")) {
+                 "UPDATE todos SET user_id = ?, title = ?, description = ?, due_date = ?, priority = ?, tag = ?, status = ? WHERE id = ?")) {
             
             // Validate userId by checking if user exists
             if (userId <= 0 || !userExists(conn, userId)) {
@@ -122,18 +286,194 @@ public class TodoService {
             ps.setString(2, title);
             ps.setString(3, description);
             ps.setDate(4, Date.valueOf(dueDate));
-            ps.setString(5, priority.toString());
-            ps.setString(6, tag.toString());
-            ps.setBoolean(7, completed);
-            ps.setString(8, completed ? Status.COMPLETED.toString() : Status.PENDING.toString());
-            ps.setInt(9, id);
+            ps.setShort(5, TodoRowDecoder.code(priority));
+            ps.setShort(6, TodoRowDecoder.code(tag));
+            ps.setShort(7, TodoRowDecoder.code(completed ? Status.COMPLETED : Status.PENDING));
+            ps.setInt(8, id);
             
             int updatedRows = ps.executeUpdate();
             if (updatedRows == 0) {
                 throw new NoSuchElementException("Todo with ID " + id + " not found.");
             }
             
-            return getTodoById(id);
+            Todo updated = findTodoById(conn, id);
+            cache.writeTodo(updated);
+            return updated;
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Writes every column of the user's todo, but only if it is still at
+     * {@code expectedVersion}, the version the caller read. If someone else updated it in the
+     * meantime nothing is written and the result is a conflict carrying the current row, so
+     * the caller can show it and retry against its version. No row lock is held in between.
+     *
+     * @throws NoSuchElementException if the user has no todo with that id
+     */
+    public TodoUpdateResult updateTodoIfVersion(int id, int userId, int expectedVersion, String title, String description,
+                                                LocalDate dueDate, Priority priority, Tags tag, boolean completed) {
+        validateTodoFields(title, description, dueDate, priority, tag);
+        
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "UPDATE todos SET title = ?, description = ?, due_date = ?, priority = ?, tag = ?, status = ? " +
+                 "WHERE id = ? AND user_id = ? AND version = ? RETURNING " + TodoRowDecoder.COLUMNS)) {
+            
+            ps.setString(1, title);
+            ps.setString(2, description);
+            ps.setDate(3, Date.valueOf(dueDate));
+            ps.setShort(4, TodoRowDecoder.code(priority));
+            ps.setShort(5, TodoRowDecoder.code(tag));
+            ps.setShort(6, TodoRowDecoder.code(completed ? Status.COMPLETED : Status.PENDING));
+            ps.setInt(7, id);
+            ps.setInt(8, userId);
+            ps.setInt(9, expectedVersion);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                if (rs.next()) {
+                    Todo updated = TodoRowDecoder.decode(rs);
+                    cache.writeTodo(updated);
+                    return TodoUpdateResult.updated(updated);
+                }
+            }
+            
+            // Nothing matched: either the todo is gone or its version moved on
+            Todo current = findTodoById(conn, id);
+            if (current == null || current.getUserId() != userId) {
+                throw new NoSuchElementException("Todo with ID " + id + " not found.");
+            }
+            cache.writeTodo(current);
+            return TodoUpdateResult.conflict(current);
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    public Todo markCompleted(int id, int userId) {
+        return updateColumns(id, userId, "status = " + TodoRowDecoder.code(Status.COMPLETED), ps -> { });
+    }
+
+    public Todo setPriority(int id, int userId, Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Priority cannot be null");
+        }
+        return updateColumns(id, userId, "priority = ?", ps -> ps.setShort(1, TodoRowDecoder.code(priority)));
+    }
+
+    public Todo setDueDate(int id, int userId, LocalDate dueDate) {
+        if (dueDate == null) {
+            throw new IllegalArgumentException("DueDate cannot be null");
+        }
+        return updateColumns(id, userId, "due_date = ?", ps -> ps.setDate(1, Date.valueOf(dueDate)));
+    }
+
+    public Todo setTag(int id, int userId, Tags tag) {
+        if (tag == null) {
+            throw new IllegalArgumentException("Tag cannot be null");
+        }
+        return updateColumns(id, userId, "tag = ?", ps -> ps.setShort(1, TodoRowDecoder.code(tag)));
+    }
+
+    /**
+     * Marks every listed todo owned by the user as completed in one statement. Ids that do
+     * not exist or belong to someone else are skipped; returns the number of todos changed.
+     */
+    public int completeAll(Collection<Integer> ids, int userId) {
+        return updateAll(ids, userId, "UPDATE todos SET status = " + TodoRowDecoder.code(Status.COMPLETED), ps -> { });
+    }
+
+    public int setPriorityForAll(Collection<Integer> ids, int userId, Priority priority) {
+        if (priority == null) {
+            throw new IllegalArgumentException("Priority cannot be null");
+        }
+        return updateAll(ids, userId, "UPDATE todos SET priority = ?", ps -> ps.setShort(1, TodoRowDecoder.code(priority)));
+    }
+
+    /**
+     * Deletes every listed todo owned by the user in one statement and returns how many were removed.
+     */
+    public int deleteAll(Collection<Integer> ids, int userId) {
+        return updateAll(ids, userId, "DELETE FROM todos", ps -> { });
+    }
+
+    public int deleteCompleted(int userId) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "DELETE FROM todos WHERE user_id = ? AND status = " + TodoRowDecoder.code(Status.COMPLETED))) {
+            
+            ps.setInt(1, userId);
+            int deleted = ps.executeUpdate();
+            if (deleted > 0) {
+                cache.invalidateUser(userId);
+            }
+            return deleted;
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    // Appends "WHERE id = ANY(?) AND user_id = ?" to the statement, after any parameters the binder sets
+    private int updateAll(Collection<Integer> ids, int userId, String statement, ParameterBinder binder) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        
+        String sql = statement + " WHERE id = ANY(?) AND user_id = ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            
+            binder.bind(ps);
+            int next = (int) statement.chars().filter(c -> c == '?').count() + 1;
+            ps.setArray(next, conn.createArrayOf("integer", ids.toArray(new Integer[0])));
+            ps.setInt(next + 1, userId);
+            
+            int changed = ps.executeUpdate();
+            if (changed > 0) {
+                cache.invalidateUser(userId);
+            }
+            return changed;
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ParameterBinder {
+        void bind(PreparedStatement ps) throws SQLException;
+    }
+
+    /**
+     * Runs {@code UPDATE todos SET <assignments>} on one todo owned by the user and returns the
+     * row as written, in one round-trip. The binder fills the assignment parameters starting
+     * at index 1; the id and user id follow them.
+     */
+    private Todo updateColumns(int id, int userId, String assignments, ParameterBinder binder) {
+        String sql = "UPDATE todos SET " + assignments + " WHERE id = ? AND user_id = ? RETURNING " + TodoRowDecoder.COLUMNS;
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            
+            binder.bind(ps);
+            int next = (int) assignments.chars().filter(c -> c == '?').count() + 1;
+            ps.setInt(next, id);
+            ps.setInt(next + 1, userId);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                if (!rs.next()) {
+                    throw new NoSuchElementException("Todo with ID " + id + " not found.");
+                }
+                Todo updated = TodoRowDecoder.decode(rs);
+                cache.writeTodo(updated);
+                return updated;
+            }
             
         } catch (SQLException e) {
             throw new RuntimeException("Database error: " + e.getMessage(), e);
@@ -146,7 +486,11 @@ public class TodoService {
                  "DELETE FROM todos WHERE id = ?")) {
             
             ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+            boolean deleted = ps.executeUpdate() > 0;
+            if (deleted) {
+                cache.removeTodo(id);
+            }
+            return deleted;
             
         } catch (SQLException e) {
             throw new RuntimeException("Database error: " + e.getMessage(), e);
@@ -155,15 +499,22 @@ public class TodoService {
     
     
     public List<Todo> getTodosByUserId(int userId) {
+        List<Todo> cached = cache.getTodos(userId);
+        if (cached != null) {
+            return cached;
+        }
+        
+        long readAt = cache.generation();
         List<Todo> todos = new ArrayList<>();
         
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement ps = conn.prepareStatement("SELECT * FROM todos WHERE user_id = ?")) {
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE user_id = ?")) {
             
             ps.setInt(1, userId);
             try (ResultSet rs = ps.executeQuery()) {
                 while (rs.next()) {
-                    todos.add(mapResultSetToTodo(rs));
+                    todos.add(TodoRowDecoder.decode(rs));
                 }
             }
             
@@ -171,91 +522,484 @@ public class TodoService {
             throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
         
+        cache.putTodos(userId, todos, readAt);
         return todos;
     }
 
-    private Todo mapResultSetToTodo(ResultSet rs) throws SQLException {
-       
-        int id = rs.getInt("id");
-        int userId = rs.getInt("user_id");
-        String title = rs.getString("title");
-        String description = rs.getString("description");
-        LocalDate dueDate = rs.getDate("due_date").toLocalDate();
+    /**
+     * Reads the listed todos owned by the user straight from the database, in (due_date, id)
+     * order. Ids that do not exist or belong to someone else are left out.
+     */
+    public List<Todo> getTodosByIds(int userId, Collection<Integer> ids) {
+        if (ids == null) {
+            throw new IllegalArgumentException("IDs cannot be null");
+        }
         
-       
-        String priorityStr = rs.getString("priority");
-        Priority priority = Priority.MEDIUM; // Default value
-        if (priorityStr != null) {
-            try {
-                priority = Priority.valueOf(priorityStr);
-            } catch (IllegalArgumentException e) {
-                System.err.println("Warning: Invalid priority value in database: " + priorityStr);
+        List<Todo> todos = new ArrayList<>();
+        if (ids.isEmpty()) {
+            return todos;
+        }
+        
+        long readAt = cache.generation();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE id = ANY(?) AND user_id = ? ORDER BY due_date, id")) {
+            
+            ps.setArray(1, conn.createArrayOf("integer", ids.toArray(new Integer[0])));
+            ps.setInt(2, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    todos.add(TodoRowDecoder.decode(rs));
+                }
             }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
         
-      
-        String tagStr = rs.getString("tag");
-        Tags tag = Tags.Work; 
-        if (tagStr != null) {
-            try {
-                tag = Tags.valueOf(tagStr);
-            } catch (IllegalArgumentException e) {
-                System.err.println("Warning: Invalid tag value in database: " + tagStr);
+        for (Todo todo : todos) {
+            cache.putTodo(todo, readAt);
+        }
+        return todos;
+    }
+
+    /**
+     * Returns up to {@code pageSize} todos for the user ordered by (due_date, id), starting
+     * after the position encoded in {@code cursor}. Pass {@code null} for the first page.
+     */
+    public TodoPage getTodosPage(int userId, String cursor, int pageSize) {
+        if (pageSize <= 0 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        TodoPage cached = cache.getPage(userId, cursor, pageSize);
+        if (cached != null) {
+            return cached;
+        }
+        long readAt = cache.generation();
+        
+        String sql = cursor == null
+            ? "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE user_id = ? ORDER BY due_date, id LIMIT ?"
+            : "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE user_id = ? AND (due_date, id) > (?, ?) ORDER BY due_date, id LIMIT ?";
+        
+        List<Todo> todos = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            ps.setInt(index++, userId);
+            if (cursor != null) {
+                String[] position = decodeCursor(cursor);
+                ps.setDate(index++, Date.valueOf(position[0]));
+                ps.setInt(index++, Integer.parseInt(position[1]));
+            }
+            // One extra row tells us whether another page exists
+            ps.setInt(index, pageSize + 1);
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    todos.add(TodoRowDecoder.decode(rs));
+                }
             }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
         
-       
-        Todo todo = new Todo(id, userId, title, description, dueDate, priority, tag);
+        TodoPage page;
+        if (todos.size() <= pageSize) {
+            page = new TodoPage(todos, null);
+        } else {
+            todos.remove(pageSize);
+            Todo last = todos.get(pageSize - 1);
+            page = new TodoPage(todos, encodeCursor(last.getDueDate(), last.getId()));
+        }
+        cache.putPage(userId, cursor, pageSize, page, readAt);
+        return page;
+    }
+
+    /**
+     * Returns up to {@code limit} pending todos of the given users due from {@code from} up to
+     * but not including {@code to}, in (due date, id) order. Pass the last reminder of one call
+     * as {@code after} to continue with the next, or null to start at the beginning.
+     */
+    public List<Reminder> getReminders(Collection<Integer> userIds, LocalDate from, LocalDate to, Reminder after, int limit) {
+        if (userIds == null) {
+            throw new IllegalArgumentException("User IDs cannot be null");
+        }
+        if (from == null || to == null) {
+            throw new IllegalArgumentException("Date window cannot be null");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
         
+        List<Reminder> reminders = new ArrayList<>();
+        if (userIds.isEmpty()) {
+            return reminders;
+        }
         
-        try {
-            int userSpecificId = rs.getInt("user_specific_id");
-            if (!rs.wasNull()) {
-                todo.setUserSpecificId(userSpecificId);
+        // The status literal matches the predicate of the partial index on pending due dates
+        String sql = "SELECT id, user_id, title, due_date FROM todos " +
+                     "WHERE user_id = ANY(?) AND status = " + TodoRowDecoder.code(Status.PENDING) +
+                     " AND due_date >= ? AND due_date < ?" +
+                     (after != null ? " AND (due_date, id) > (?, ?)" : "") +
+                     " ORDER BY due_date, id LIMIT ?";
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql)) {
+            
+            int index = 1;
+            ps.setArray(index++, conn.createArrayOf("integer", userIds.toArray(new Integer[0])));
+            ps.setDate(index++, Date.valueOf(from));
+            ps.setDate(index++, Date.valueOf(to));
+            if (after != null) {
+                ps.setDate(index++, Date.valueOf(after.dueDate()));
+                ps.setInt(index++, after.todoId());
+            }
+            ps.setInt(index, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    reminders.add(new Reminder(rs.getInt(1), rs.getInt(2), rs.getString(3),
+                        rs.getObject(4, LocalDate.class)));
+                }
             }
+            
         } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+        return reminders;
+    }
+
+    /**
+     * Counts the user's todos by priority, tag and status, and the pending ones that are
+     * overdue or due this week, in one aggregate query. Rows with an unknown stored code only
+     * count towards the total.
+     */
+    public TodoStats getStats(int userId) {
+        LocalDate today = LocalDate.now();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(STATS_SQL)) {
             
+            ps.setDate(1, Date.valueOf(today));
+            ps.setDate(2, Date.valueOf(today));
+            ps.setDate(3, Date.valueOf(today.plusDays(7)));
+            ps.setInt(4, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                int column = 1;
+                int total = rs.getInt(column++);
+                Map<Priority, Integer> byPriority = new EnumMap<>(Priority.class);
+                for (Priority priority : TodoRowDecoder.PRIORITY_BY_CODE) {
+                    byPriority.put(priority, rs.getInt(column++));
+                }
+                Map<Tags, Integer> byTag = new EnumMap<>(Tags.class);
+                for (Tags tag : TodoRowDecoder.TAG_BY_CODE) {
+                    byTag.put(tag, rs.getInt(column++));
+                }
+                Map<Status, Integer> byStatus = new EnumMap<>(Status.class);
+                for (Status status : TodoRowDecoder.STATUS_BY_CODE) {
+                    byStatus.put(status, rs.getInt(column++));
+                }
+                return new TodoStats(total, byPriority, byTag, byStatus, rs.getInt(column++), rs.getInt(column));
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    // One row of FILTER counts, one per stored code, in the order getStats reads them
+    private static String statsQuery() {
+        short pending = TodoRowDecoder.code(Status.PENDING);
+        StringBuilder sql = new StringBuilder("SELECT count(*)");
+        appendCodeCounts(sql, "priority", TodoRowDecoder.PRIORITY_BY_CODE.length);
+        appendCodeCounts(sql, "tag", TodoRowDecoder.TAG_BY_CODE.length);
+        appendCodeCounts(sql, "status", TodoRowDecoder.STATUS_BY_CODE.length);
+        sql.append(", count(*) FILTER (WHERE status = ").append(pending).append(" AND due_date < ?)")
+           .append(", count(*) FILTER (WHERE status = ").append(pending).append(" AND due_date >= ? AND due_date < ?)")
+           .append(" FROM todos WHERE user_id = ?");
+        return sql.toString();
+    }
+
+    private static void appendCodeCounts(StringBuilder sql, String column, int codes) {
+        for (int code = 0; code < codes; code++) {
+            sql.append(", count(*) FILTER (WHERE ").append(column).append(" = ").append(code).append(')');
+        }
+    }
+
+    public int countTodos(int userId) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement("SELECT COUNT(*) FROM todos WHERE user_id = ?")) {
+            
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} todos starting at row {@code offset} of the user's todos in
+     * (due_date, id) order, for callers that jump to arbitrary positions. Sequential readers
+     * should prefer {@link #getTodosPage}, whose cost does not grow with the position.
+     */
+    public List<Todo> getTodosSlice(int userId, int offset, int limit) {
+        if (offset < 0) {
+            throw new IllegalArgumentException("Offset cannot be negative");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
         }
         
+        List<Todo> todos = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE user_id = ? ORDER BY due_date, id OFFSET ? LIMIT ?")) {
+            
+            ps.setInt(1, userId);
+            ps.setInt(2, offset);
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    todos.add(TodoRowDecoder.decode(rs));
+                }
+            }
+            
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+        return todos;
+    }
+
+    /**
+     * Runs the query as one parameterized statement.
+     */
+    public List<Todo> findTodos(TodoQuery query) {
+        if (query == null) {
+            throw new IllegalArgumentException("Query cannot be null");
+        }
+        if (query.getLimit() > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit cannot exceed " + MAX_PAGE_SIZE);
+        }
         
-        boolean completed = false;
-        try {
-            completed = rs.getBoolean("completed");
+        StringBuilder sql = new StringBuilder("SELECT ").append(TodoRowDecoder.COLUMNS)
+            .append(" FROM todos WHERE user_id = ?");
+        if (!query.getPriorities().isEmpty()) {
+            sql.append(" AND priority = ANY(?)");
+        }
+        if (!query.getTags().isEmpty()) {
+            sql.append(" AND tag = ANY(?)");
+        }
+        if (query.getStatus() != null) {
+            sql.append(" AND status = ?");
+        }
+        if (query.getDueFrom() != null) {
+            sql.append(" AND due_date >= ?");
+        }
+        if (query.getDueTo() != null) {
+            sql.append(" AND due_date <= ?");
+        }
+        sql.append(" ORDER BY ").append(orderBy(query.getSort())).append(" LIMIT ?");
+        
+        List<Todo> todos = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            
+            int index = 1;
+            ps.setInt(index++, query.getUserId());
+            if (!query.getPriorities().isEmpty()) {
+                ps.setArray(index++, conn.createArrayOf("smallint", codes(query.getPriorities())));
+            }
+            if (!query.getTags().isEmpty()) {
+                ps.setArray(index++, conn.createArrayOf("smallint", codes(query.getTags())));
+            }
+            if (query.getStatus() != null) {
+                ps.setShort(index++, TodoRowDecoder.code(query.getStatus()));
+            }
+            if (query.getDueFrom() != null) {
+                ps.setDate(index++, Date.valueOf(query.getDueFrom()));
+            }
+            if (query.getDueTo() != null) {
+                ps.setDate(index++, Date.valueOf(query.getDueTo()));
+            }
+            ps.setInt(index, query.getLimit());
+            
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    todos.add(TodoRowDecoder.decode(rs));
+                }
+            }
+            
         } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+        
+        return todos;
+    }
+
+    /**
+     * Returns up to {@code limit} of the user's todos whose title or description matches the
+     * search text, best matches first. The text takes web search syntax: quoted phrases,
+     * {@code or}, and {@code -} to exclude a word. Words are matched by their stem, so
+     * "invoices" finds "invoice".
+     */
+    public List<Todo> search(int userId, String query, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new IllegalArgumentException("Search query cannot be empty");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        
+        List<Todo> todos = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos, websearch_to_tsquery('english', ?) AS q " +
+                 "WHERE user_id = ? AND search_vector @@ q " +
+                 "ORDER BY ts_rank(search_vector, q) DESC, due_date, id LIMIT ?")) {
+            
+            ps.setString(1, query);
+            ps.setInt(2, userId);
+            ps.setInt(3, limit);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    todos.add(TodoRowDecoder.decode(rs));
+                }
+            }
             
+        } catch (SQLException e) {
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
+        }
+        return todos;
+    }
+
+    /**
+     * Returns up to {@code limit} of the user's todos whose title or description contains the
+     * text, ignoring case, for lookups while the user types. Titles that start with the text
+     * come first, then the rest in due date order. Unlike {@link #search}, the text is matched
+     * literally, word fragments included.
+     *
+     * @param cancellation lets another thread abort the lookup once its result is no longer
+     *                     wanted, or null
+     * @throws CancellationException if the lookup was cancelled
+     */
+    public List<Todo> findMatching(int userId, String text, int limit, QueryCancellation cancellation) {
+        if (text == null || text.isBlank()) {
+            throw new IllegalArgumentException("Search text cannot be empty");
+        }
+        if (limit <= 0 || limit > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Limit must be between 1 and " + MAX_PAGE_SIZE);
         }
-        todo.setCompleted(completed);
+        String escaped = escapeLike(text);
         
-       
-        try {
-            String statusStr = rs.getString("status");
-            if (statusStr != null) {
-                try {
-                    Status status = Status.valueOf(statusStr);
-                    todo.setStatus(status);
-                } catch (IllegalArgumentException e) {
-                    System.err.println("Warning: Invalid status value in database: " + statusStr);
-                    todo.setStatus(completed ? Status.COMPLETED : Status.PENDING);
+        List<Todo> todos = new ArrayList<>();
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos " +
+                 "WHERE user_id = ? AND (title ILIKE ? OR description ILIKE ?) " +
+                 "ORDER BY title ILIKE ? DESC, due_date, id LIMIT ?")) {
+            
+            ps.setInt(1, userId);
+            ps.setString(2, "%" + escaped + "%");
+            ps.setString(3, "%" + escaped + "%");
+            ps.setString(4, escaped + "%");
+            ps.setInt(5, limit);
+            if (cancellation != null) {
+                cancellation.attach(ps);
+            }
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    todos.add(TodoRowDecoder.decode(rs));
+                }
+            } finally {
+                if (cancellation != null) {
+                    cancellation.detach();
                 }
-            } else {
-                todo.setStatus(completed ? Status.COMPLETED : Status.PENDING);
             }
+            
         } catch (SQLException e) {
-            todo.setStatus(completed ? Status.COMPLETED : Status.PENDING);
+            if (QUERY_CANCELED.equals(e.getSQLState()) && cancellation != null && cancellation.isCancelled()) {
+                throw new CancellationException("Query cancelled");
+            }
+            throw new RuntimeException("Database error: " + e.getMessage(), e);
         }
+        return todos;
+    }
 
-        return todo;
+    // Makes LIKE wildcards in user input match themselves; backslash is the default escape
+    private static String escapeLike(String text) {
+        return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
     }
-    
+
+    private static String orderBy(TodoQuery.Sort sort) {
+        switch (sort) {
+            case DUE_DATE_DESC:
+                return "due_date DESC, id DESC";
+            case PRIORITY:
+                // Priority codes run from HIGH to LOW
+                return "priority, due_date, id";
+            case TITLE:
+                return "title, id";
+            default:
+                return "due_date, id";
+        }
+    }
+
+    private static Short[] codes(Set<? extends Enum<?>> values) {
+        return values.stream().map(TodoRowDecoder::code).toArray(Short[]::new);
+    }
+
+    /**
+     * Drops the cached todos a change reported by {@link TodoChangeListener} made stale.
+     * Changes the cache already holds, such as this service's own writes, cost nothing.
+     */
+    public void applyChange(TodoChange change) {
+        cache.applyChange(change);
+    }
+
+    public TodoCache.Stats getCacheStats() {
+        return cache.getStats();
+    }
+
+    /**
+     * Returns the cursor for {@link #getTodosPage} that continues with the todos after
+     * {@code todo} in (due_date, id) order.
+     */
+    public static String cursorAfter(Todo todo) {
+        return encodeCursor(todo.getDueDate(), todo.getId());
+    }
+
+    private static String encodeCursor(LocalDate dueDate, int id) {
+        String position = dueDate + CURSOR_SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static String[] decodeCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = position.split(CURSOR_SEPARATOR, 2);
+            LocalDate.parse(parts[0]);
+            Integer.parseInt(parts[1]);
+            return parts;
+        } catch (IllegalArgumentException | DateTimeParseException | ArrayIndexOutOfBoundsException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    /**
+     * Sets a process-local counter that restarts with every instance. Ids taken from it are
+     * passed to {@link #createTodo} as explicit ids; passing zero instead gets one from the
+     * database counter.
+     */
     public void setNextUserSpecificId(int id) {
-        this.nextUserSpecificId = id;
+        nextUserSpecificId.set(id);
     }
 
     public int getNextUserSpecificId() {
-        return nextUserSpecificId++;
-    }
-    
-    public Todo testMapResultSetToTodo(ResultSet rs) throws SQLException {
-        return mapResultSetToTodo(rs);
+        return nextUserSpecificId.getAndIncrement();
     }
 }
\ No newline at end of file
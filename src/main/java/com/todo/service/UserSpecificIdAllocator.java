@@ -0,0 +1,108 @@
+package com.todo.service;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out user_specific_id values from the user_todo_counters table. Each database call
+ * reserves a block of ids with one atomic upsert, and the block is then served from memory,
+ * so busy creators only touch the counter row once per block. Ids left in a block when the
+ * process stops are skipped, so the sequence can have gaps but never repeats.
+ *
+ * Callers may also choose ids themselves through {@link #claim}. The counter row remembers
+ * how far blocks have been reserved, and ids below that cannot be claimed because they may
+ * sit unused in a block this or another process holds. Claiming moves the counter past the
+ * claimed ids, so no later block contains them.
+ */
+class UserSpecificIdAllocator {
+
+    private static final String RESERVE_SQL =
+        "INSERT INTO user_todo_counters (user_id, next_id, reserved_until) VALUES (?, 1 + ?, 1 + ?) " +
+        "ON CONFLICT (user_id) DO UPDATE SET next_id = user_todo_counters.next_id + EXCLUDED.next_id - 1, " +
+        "reserved_until = user_todo_counters.next_id + EXCLUDED.next_id - 1 " +
+        "RETURNING next_id - ?";
+
+    // Returns a row only if no claimed id can be in a reserved block
+    static final String CLAIM_SQL =
+        "INSERT INTO user_todo_counters (user_id, next_id) VALUES (?, ? + 1) " +
+        "ON CONFLICT (user_id) DO UPDATE SET next_id = GREATEST(user_todo_counters.next_id, EXCLUDED.next_id) " +
+        "WHERE user_todo_counters.reserved_until <= ? RETURNING next_id";
+
+    private static class Block {
+        private int next;
+        private int end;
+    }
+
+    private final int blockSize;
+    private final Map<Integer, Block> blocks = new ConcurrentHashMap<>();
+
+    UserSpecificIdAllocator(int blockSize) {
+        if (blockSize <= 0) {
+            throw new IllegalArgumentException("Block size must be positive");
+        }
+        this.blockSize = blockSize;
+    }
+
+    int next(Connection conn, int userId) throws SQLException {
+        Block block = blocks.computeIfAbsent(userId, id -> new Block());
+        synchronized (block) {
+            if (block.next >= block.end) {
+                block.next = reserve(conn, userId, blockSize);
+                block.end = block.next + blockSize;
+            }
+            return block.next++;
+        }
+    }
+
+    /**
+     * Reserves {@code count} consecutive ids straight from the database and returns the first.
+     */
+    int reserve(Connection conn, int userId, int count) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(RESERVE_SQL)) {
+            ps.setInt(1, userId);
+            ps.setInt(2, count);
+            ps.setInt(3, count);
+            ps.setInt(4, count);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+
+    /**
+     * Claims the caller-chosen ids from {@code first} to {@code last} for the user and moves
+     * the counter past {@code last}. Returns false, claiming nothing, if {@code first} is
+     * below the ids reserved in blocks so far. Ids already stored are left to the unique index.
+     */
+    boolean claim(Connection conn, int userId, int first, int last) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(CLAIM_SQL)) {
+            ps.setInt(1, userId);
+            ps.setInt(2, last);
+            ps.setInt(3, first);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    /**
+     * Locks the user's counter row until the transaction ends, so no block is reserved for the
+     * user in the meantime, and returns the lowest id that can be claimed.
+     */
+    int lock(Connection conn, int userId) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(
+                "INSERT INTO user_todo_counters (user_id, next_id) VALUES (?, 1) " +
+                "ON CONFLICT (user_id) DO UPDATE SET next_id = user_todo_counters.next_id RETURNING reserved_until")) {
+            ps.setInt(1, userId);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                return rs.getInt(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.todo.ui;
+
+import javax.swing.*;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Runs service calls on SwingWorker threads, or waits for calls already started elsewhere, and
+ * hands the outcome back on the Event Dispatch Thread. A task started under a key cancels the running task with the same key, so a newer
+ * request always wins over a stale one; tasks without a key, such as writes, are never
+ * cancelled that way. The busy listener is told when the first task starts and when the
+ * last one finishes.
+ *
+ * All methods must be called on the EDT.
+ */
+class BackgroundTasks {
+
+    private final Consumer<Boolean> busyListener;
+    private final Map<String, Future<?>> running = new HashMap<>();
+    private int inFlight;
+
+    BackgroundTasks(Consumer<Boolean> busyListener) {
+        this.busyListener = busyListener;
+    }
+
+    <T> void run(String key, Supplier<T> work, Consumer<T> onSuccess, Consumer<RuntimeException> onFailure) {
+        if (key != null) {
+            cancel(key);
+        }
+        SwingWorker<T, Void> worker = new SwingWorker<>() {
+            @Override
+            protected T doInBackground() {
+                return work.get();
+            }
+
+            @Override
+            protected void done() {
+                // A task replaced after it finished but before this ran is stale as well
+                boolean current = key == null || running.get(key) == this;
+                if (current && key != null) {
+                    running.remove(key);
+                }
+                if (--inFlight == 0) {
+                    busyListener.accept(false);
+                }
+                if (!current || isCancelled()) {
+                    return;
+                }
+                try {
+                    onSuccess.accept(get());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    onFailure.accept(cause instanceof RuntimeException re ? re : new RuntimeException(cause));
+                }
+            }
+        };
+        if (key != null) {
+            running.put(key, worker);
+        }
+        if (inFlight++ == 0) {
+            busyListener.accept(true);
+        }
+        worker.execute();
+    }
+
+    /**
+     * Like {@link #run}, for a call already running as {@code future}. Replacing it cancels
+     * the future.
+     */
+    <T> void await(String key, CompletableFuture<T> future, Consumer<T> onSuccess, Consumer<RuntimeException> onFailure) {
+        if (key != null) {
+            cancel(key);
+            running.put(key, future);
+        }
+        if (inFlight++ == 0) {
+            busyListener.accept(true);
+        }
+        future.whenComplete((value, error) -> SwingUtilities.invokeLater(() -> {
+            boolean current = key == null || running.get(key) == future;
+            if (current && key != null) {
+                running.remove(key);
+            }
+            if (--inFlight == 0) {
+                busyListener.accept(false);
+            }
+            if (!current || future.isCancelled()) {
+                return;
+            }
+            if (error == null) {
+                onSuccess.accept(value);
+                return;
+            }
+            Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+            onFailure.accept(cause instanceof RuntimeException re ? re : new RuntimeException(cause));
+        }));
+    }
+
+    void cancel(String key) {
+        Future<?> previous = running.remove(key);
+        if (previous != null) {
+            previous.cancel(true);
+        }
+    }
+
+    void cancelAll() {
+        for (Future<?> task : running.values().toArray(new Future<?>[0])) {
+            task.cancel(true);
+        }
+        running.clear();
+    }
+}
@@ -0,0 +1,169 @@
+package com.todo.ui;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+
+import javax.swing.table.AbstractTableModel;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Table model that reads cells straight from the loaded todos. An id-to-row index lets
+ * single-todo changes fire row-level events, so the table repaints only the affected rows.
+ * Each row remembers when it was loaded, so callers can decide whether it is fresh enough
+ * to use without asking the database again.
+ */
+public class TodoTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    static final String[] COLUMN_NAMES = {"ID", "Title", "Description", "Due Date", "Priority", "Tags", "Status"};
+    static final Class<?>[] COLUMN_CLASSES = {Integer.class, String.class, String.class, LocalDate.class, Priority.class, Tags.class, String.class};
+
+    private final List<Todo> todos = new ArrayList<>();
+    private final Map<Integer, Integer> rowById = new HashMap<>();
+    private final List<Long> loadedAt = new ArrayList<>();
+
+    @Override
+    public int getRowCount() {
+        return todos.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        return cellValue(todos.get(row), column);
+    }
+
+    static Object cellValue(Todo todo, int column) {
+        switch (column) {
+            case 0:
+                return todo.getId();
+            case 1:
+                return todo.getTitle();
+            case 2:
+                return todo.getDescription();
+            case 3:
+                return todo.getDueDate();
+            case 4:
+                return todo.getPriority();
+            case 5:
+                return todo.getTags();
+            case 6:
+                return todo.isCompleted() ? "Completed" : "Pending";
+            default:
+                throw new IndexOutOfBoundsException("No column " + column);
+        }
+    }
+
+    public Todo getTodoAt(int row) {
+        return todos.get(row);
+    }
+
+    public boolean isFresh(int row, long maxAgeMillis) {
+        return System.nanoTime() - loadedAt.get(row) <= maxAgeMillis * 1_000_000L;
+    }
+
+    /**
+     * Returns the row showing the todo, or -1 when it is not loaded.
+     */
+    public int indexOf(int id) {
+        return rowById.getOrDefault(id, -1);
+    }
+
+    public List<Todo> getTodos() {
+        return Collections.unmodifiableList(todos);
+    }
+
+    public void setTodos(Collection<Todo> newTodos) {
+        todos.clear();
+        rowById.clear();
+        loadedAt.clear();
+        append(newTodos);
+        fireTableDataChanged();
+    }
+
+    public void addTodos(Collection<Todo> newTodos) {
+        if (newTodos.isEmpty()) {
+            return;
+        }
+        int first = todos.size();
+        append(newTodos);
+        fireTableRowsInserted(first, todos.size() - 1);
+    }
+
+    private void append(Collection<Todo> newTodos) {
+        long now = System.nanoTime();
+        for (Todo todo : newTodos) {
+            rowById.put(todo.getId(), todos.size());
+            todos.add(todo);
+            loadedAt.add(now);
+        }
+    }
+
+    /**
+     * Replaces the row of a loaded todo in place, or appends the todo if it is not loaded.
+     */
+    public void putTodo(Todo todo) {
+        int row = indexOf(todo.getId());
+        if (row == -1) {
+            addTodos(List.of(todo));
+            return;
+        }
+        todos.set(row, todo);
+        loadedAt.set(row, System.nanoTime());
+        fireTableRowsUpdated(row, row);
+    }
+
+    /**
+     * Inserts a todo that is not loaded yet at the given row, shifting the rows below it down.
+     */
+    public void insertTodo(int row, Todo todo) {
+        todos.add(row, todo);
+        loadedAt.add(row, System.nanoTime());
+        reindexFrom(row);
+        fireTableRowsInserted(row, row);
+    }
+
+    public boolean removeTodo(int id) {
+        Integer row = rowById.remove(id);
+        if (row == null) {
+            return false;
+        }
+        todos.remove((int) row);
+        loadedAt.remove((int) row);
+        reindexFrom(row);
+        fireTableRowsDeleted(row, row);
+        return true;
+    }
+
+    private void reindexFrom(int row) {
+        for (int i = row; i < todos.size(); i++) {
+            rowById.put(todos.get(i).getId(), i);
+        }
+    }
+}
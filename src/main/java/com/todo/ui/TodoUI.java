@@ -1,16 +1,41 @@
 package com.todo.ui;
 import com.todo.model.Priority;
+import com.todo.model.Reminder;
+import com.todo.model.Status;
 import com.todo.model.Tags;
 import com.todo.model.Todo;
+import com.todo.model.TodoChange;
+import com.todo.model.TodoQuery;
+import com.todo.model.TodoStats;
+import com.todo.config.PropertiesLoader;
 import com.todo.service.*;
 
 import javax.swing.*;
+import javax.swing.event.DocumentEvent;
+import javax.swing.event.DocumentListener;
 import java.awt.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
-import javax.swing.table.DefaultTableModel;
+import java.util.Map;
+import java.util.Set;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 public class TodoUI extends JFrame {
     /**
@@ -25,7 +50,9 @@ public class TodoUI extends JFrame {
     private JComboBox<Priority> priorityComboBox;
     private JComboBox<Tags> tagsComboBox;
     public JTable todoTable;
-    public DefaultTableModel tableModel;
+    public TodoTableModel tableModel;
+    // Only set in virtual table mode, where it backs the unfiltered list
+    private VirtualTodoTableModel virtualModel;
     private JButton addButton;
     private JButton updateButton;
     private JButton deleteButton;
@@ -33,15 +60,113 @@ public class TodoUI extends JFrame {
     private JLabel usernameLabel; 
     private JButton markCompletedButton;
     private JComboBox<Priority> filterPriorityComboBox;
-    private List<Todo> currentTodos;
+    private JComboBox<Tags> filterTagsComboBox;
+    private JComboBox<Status> filterStatusComboBox;
+    private JComboBox<TodoQuery.Sort> sortComboBox;
+    private JTextField dueFromField;
+    private JTextField dueToField;
+    private JTextField searchField;
+    private JTextField findField;
+    // Waits for typing to pause before the find field is looked up
+    private Timer findTimer;
+    // The lookup for the find field that is still running, if any
+    private QueryCancellation runningFind;
+    private JButton loadMoreButton;
+    private String nextCursor;
+    // Unlike nextCursor, stays set while the next page is being loaded
+    private boolean hasMorePages;
+    // Set while the table shows a filter or search result instead of the paged list, and
+    // loads that result again
+    private Supplier<List<Todo>> activeResults;
     private boolean isUpdateMode = false;
+    // Set while a write runs with the edit buttons disabled
+    private boolean writing;
+    // The todo whose values were last put into the edit fields; its version guards the update
+    private Todo editingTodo;
+    private JButton deleteCompletedButton;
+    private JProgressBar busyIndicator;
+    // Value labels of the summary panel, by the row label they sit next to
+    private final Map<String, JLabel> statLabels = new LinkedHashMap<>();
+    private final BackgroundTasks tasks = new BackgroundTasks(this::showBusy);
+    // Runs the reads of the list and the summary at the same time, with a timeout
+    private final AsyncTodoService asyncService;
+    private final TodoExporter exporter = new TodoExporter();
+    private final TodoChangeListener changeListener;
+    private final Consumer<TodoChange> changeSubscriber = this::onTodosChanged;
+    private final Consumer<RuntimeException> changeFailureListener = this::onChangeListenerFailure;
+    private static TodoChangeListener sharedChangeListener;
+    private final ReminderScheduler reminders;
+    private final Consumer<Reminder> reminderSubscriber = this::onReminder;
+    private final Consumer<RuntimeException> reminderFailureListener = this::onReminderFailure;
+    private static ReminderScheduler sharedReminders;
+    private JLabel reminderLabel;
+    // Reminders shown in the header since the user last dismissed them
+    private final List<Reminder> shownReminders = new ArrayList<>();
     
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int PAGE_SIZE = 100;
+    private static final int SEARCH_LIMIT = 100;
+    private static final int FIND_LIMIT = 20;
+    private static final String VIRTUAL_TABLE_MODE = "virtual";
+    private static final int VIRTUAL_MAX_PAGES = 5;
+    // Rows older than this are re-read before their values are put into the edit fields
+    private static final long SELECTION_MAX_AGE_MILLIS = 60_000;
+    // Keys for background tasks where a newer request replaces the running one
+    private static final String LOAD_TASK = "load";
+    private static final String SELECT_TASK = "select";
+    private static final String STATS_TASK = "stats";
+    // The order of the paged list
+    private static final Comparator<Todo> LIST_ORDER = Comparator.comparing(Todo::getDueDate).thenComparingInt(Todo::getId);
 
     public TodoUI(TodoService todoService,  String username,int userId) {
+        this(todoService, username, userId, liveChangeListener(), reminderScheduler());
+    }
+
+    /**
+     * @param changeListener source of changes made elsewhere to show as they happen, or null
+     *                       to only show changes when the table is reloaded
+     * @param reminders      source of due date reminders to show, or null for none. It only
+     *                       learns about edits through the change listener.
+     */
+    public TodoUI(TodoService todoService, String username, int userId, TodoChangeListener changeListener,
+                  ReminderScheduler reminders) {
         this.todoService = todoService;
+        this.asyncService = new AsyncTodoService(todoService, new UserService());
         this.userId = userId;
+        this.changeListener = changeListener;
+        this.reminders = reminders;
         initializeUI(username);
+        if (changeListener != null) {
+            changeListener.subscribe(userId, changeSubscriber);
+            changeListener.addFailureListener(changeFailureListener);
+        }
+        if (reminders != null) {
+            reminders.subscribe(userId, reminderSubscriber);
+            reminders.addFailureListener(reminderFailureListener);
+        }
+    }
+
+    // One listener connection serves every window of the process
+    private static synchronized TodoChangeListener liveChangeListener() {
+        if (!Boolean.parseBoolean(PropertiesLoader.getProperty("todo.ui.liveUpdates", "false"))) {
+            return null;
+        }
+        if (sharedChangeListener == null) {
+            sharedChangeListener = new TodoChangeListener();
+        }
+        return sharedChangeListener;
+    }
+
+    // Like the change listener, one scheduler serves every window of the process. It reads
+    // through its own uncached service, since it only reads rows that just changed.
+    private static synchronized ReminderScheduler reminderScheduler() {
+        if (!Boolean.parseBoolean(PropertiesLoader.getProperty("todo.reminders.enabled", "false"))) {
+            return null;
+        }
+        if (sharedReminders == null) {
+            sharedReminders = new ReminderScheduler(new TodoService(new TodoCache(0)));
+        }
+        return sharedReminders;
     }
 
     private void initializeUI(String username) {
@@ -54,11 +179,29 @@ public class TodoUI extends JFrame {
         JPanel headerPanel = new JPanel();
         usernameLabel = new JLabel("Logged in as: " + username);
         headerPanel.add(usernameLabel);
+        busyIndicator = new JProgressBar();
+        busyIndicator.setIndeterminate(true);
+        busyIndicator.setVisible(false);
+        headerPanel.add(busyIndicator);
+        reminderLabel = new JLabel();
+        reminderLabel.setForeground(new Color(0xB3, 0x5C, 0x00));
+        reminderLabel.setToolTipText("Click to dismiss");
+        reminderLabel.setVisible(false);
+        reminderLabel.addMouseListener(new java.awt.event.MouseAdapter() {
+            @Override
+            public void mouseClicked(java.awt.event.MouseEvent e) {
+                shownReminders.clear();
+                reminderLabel.setVisible(false);
+            }
+        });
+        headerPanel.add(reminderLabel);
         add(headerPanel, BorderLayout.PAGE_START);
         
-        // Input Panel
-        JPanel inputPanel = createInputPanel();
-        add(inputPanel, BorderLayout.WEST);
+        // Input Panel, with the summary below it
+        JPanel westPanel = new JPanel(new BorderLayout());
+        westPanel.add(createInputPanel(), BorderLayout.NORTH);
+        westPanel.add(createStatsPanel(), BorderLayout.SOUTH);
+        add(westPanel, BorderLayout.WEST);
 
         // Table Panel
         JPanel tablePanel = createTablePanel();
@@ -69,11 +212,31 @@ public class TodoUI extends JFrame {
         add(buttonPanel, BorderLayout.SOUTH);
         
         todoTable.getSelectionModel().addListSelectionListener(e -> {
+            refreshUpdateButton();
             if (!e.getValueIsAdjusting()) {
                 populateFieldsFromSelectedRow();
             }
         });
 
+        // Drop whatever is still loading once the window goes away
+        addWindowListener(new java.awt.event.WindowAdapter() {
+            @Override
+            public void windowClosed(java.awt.event.WindowEvent e) {
+                findTimer.stop();
+                cancelRunningFind();
+                tasks.cancelAll();
+                asyncService.close();
+                if (changeListener != null) {
+                    changeListener.unsubscribe(userId, changeSubscriber);
+                    changeListener.removeFailureListener(changeFailureListener);
+                }
+                if (reminders != null) {
+                    reminders.unsubscribe(userId, reminderSubscriber);
+                    reminders.removeFailureListener(reminderFailureListener);
+                }
+            }
+        });
+
         pack();
         setLocationRelativeTo(null);
         refreshTable();
@@ -82,22 +245,47 @@ public class TodoUI extends JFrame {
     
     private void populateFieldsFromSelectedRow() {
         int selectedRow = todoTable.getSelectedRow();
-        if (selectedRow != -1) {
-        	
-            // Get the todo ID from the selected row
-            
-        	int id = (int) todoTable.getValueAt(selectedRow, 0);
-            Todo selectedTodo = todoService.getTodoById(id);
-            
+        if (selectedRow == -1) {
+            return;
+        }
+        
+        Todo loaded = loadedTodoAt(selectedRow);
+        if (loaded != null) {
+            tasks.cancel(SELECT_TASK);
+            populateFields(loaded);
+            return;
+        }
+        
+        // Not loaded, or loaded too long ago to edit from: fetch it and keep the fresh copy
+        Object id = todoTable.getValueAt(selectedRow, 0);
+        if (id == null) {
+            return;
+        }
+        tasks.run(SELECT_TASK, () -> todoService.reloadTodoById((int) id), selectedTodo -> {
             if (selectedTodo != null) {
-                // Populate the fields with the selected todo's data
-                titleField.setText(selectedTodo.getTitle());
-                descriptionField.setText(selectedTodo.getDescription());
-                dateField.setText(selectedTodo.getDueDate().format(DATE_FORMATTER));
-                priorityComboBox.setSelectedItem(selectedTodo.getPriority());
-                tagsComboBox.setSelectedItem(selectedTodo.getTags());
+                populateFields(selectedTodo);
+                if (todoTable.getModel() == tableModel && tableModel.indexOf(selectedTodo.getId()) != -1) {
+                    tableModel.putTodo(selectedTodo);
+                }
             }
+        }, this::showError);
+    }
+
+    // The todo shown in the row, or null if it has to come from the database
+    private Todo loadedTodoAt(int row) {
+        if (todoTable.getModel() == tableModel) {
+            return tableModel.isFresh(row, SELECTION_MAX_AGE_MILLIS) ? tableModel.getTodoAt(row) : null;
         }
+        return virtualModel.getTodoAt(row);
+    }
+
+    private void populateFields(Todo todo) {
+        editingTodo = todo;
+        titleField.setText(todo.getTitle());
+        descriptionField.setText(todo.getDescription());
+        dateField.setText(todo.getDueDate().format(DATE_FORMATTER));
+        priorityComboBox.setSelectedItem(todo.getPriority());
+        tagsComboBox.setSelectedItem(todo.getTags());
     }
 
     private JPanel createInputPanel() {
@@ -144,61 +332,198 @@ public class TodoUI extends JFrame {
         return panel;
     }
 
+    private JPanel createStatsPanel() {
+        JPanel panel = new JPanel(new GridLayout(0, 2, 10, 2));
+        panel.setBorder(BorderFactory.createTitledBorder("Summary"));
+        List<String> rows = new ArrayList<>(List.of("Total", "Pending", "Completed", "Overdue", "Due this week"));
+        for (Priority priority : Priority.values()) {
+            rows.add(priority.toString());
+        }
+        for (Tags tag : Tags.values()) {
+            rows.add(tag.toString());
+        }
+        for (String row : rows) {
+            JLabel value = new JLabel("-");
+            panel.add(new JLabel(row + ":"));
+            panel.add(value);
+            statLabels.put(row, value);
+        }
+        return panel;
+    }
+
+    private void refreshStats() {
+        tasks.await(STATS_TASK, asyncService.getStats(userId), this::showStats, this::showError);
+    }
+
+    private void showStats(TodoStats stats) {
+        setStat("Total", stats.total());
+        setStat("Pending", stats.count(Status.PENDING));
+        setStat("Completed", stats.count(Status.COMPLETED));
+        setStat("Overdue", stats.overdue());
+        setStat("Due this week", stats.dueThisWeek());
+        for (Priority priority : Priority.values()) {
+            setStat(priority.toString(), stats.count(priority));
+        }
+        for (Tags tag : Tags.values()) {
+            setStat(tag.toString(), stats.count(tag));
+        }
+    }
+
+    private void setStat(String row, int value) {
+        statLabels.get(row).setText(String.valueOf(value));
+    }
+
     private JPanel createTablePanel() {
         JPanel panel = new JPanel(new BorderLayout());
         
         // Create filter panel
         JPanel filterPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
-        filterPriorityComboBox = new JComboBox<>(Priority.values());
+        filterPriorityComboBox = createOptionalComboBox(Priority.values());
+        filterTagsComboBox = createOptionalComboBox(Tags.values());
+        filterStatusComboBox = createOptionalComboBox(Status.values());
+        sortComboBox = new JComboBox<>(TodoQuery.Sort.values());
+        dueFromField = new JTextField(8);
+        dueToField = new JTextField(8);
         JButton applyFilterButton = new JButton("Apply Filter");
         JButton clearFilterButton = new JButton("Clear Filter");
         
-        filterPanel.add(new JLabel("Filter by Priority:"));
+        JPanel searchPanel = new JPanel(new FlowLayout(FlowLayout.LEFT));
+        searchField = new JTextField(30);
+        JButton searchButton = new JButton("Search");
+        searchPanel.add(new JLabel("Search:"));
+        searchPanel.add(searchField);
+        searchPanel.add(searchButton);
+        findField = new JTextField(20);
+        searchPanel.add(new JLabel("Find:"));
+        searchPanel.add(findField);
+        
+        findTimer = new Timer(PropertiesLoader.getIntProperty("todo.ui.findDelayMillis", 250), e -> find());
+        findTimer.setRepeats(false);
+        findField.getDocument().addDocumentListener(new DocumentListener() {
+            @Override
+            public void insertUpdate(DocumentEvent e) {
+                findTextChanged();
+            }
+
+            @Override
+            public void removeUpdate(DocumentEvent e) {
+                findTextChanged();
+            }
+
+            @Override
+            public void changedUpdate(DocumentEvent e) {
+                // Attribute changes leave the text alone
+            }
+        });
+        
+        filterPanel.add(new JLabel("Priority:"));
         filterPanel.add(filterPriorityComboBox);
+        filterPanel.add(new JLabel("Tag:"));
+        filterPanel.add(filterTagsComboBox);
+        filterPanel.add(new JLabel("Status:"));
+        filterPanel.add(filterStatusComboBox);
+        filterPanel.add(new JLabel("Due from:"));
+        filterPanel.add(dueFromField);
+        filterPanel.add(new JLabel("to:"));
+        filterPanel.add(dueToField);
+        filterPanel.add(new JLabel("Sort:"));
+        filterPanel.add(sortComboBox);
         filterPanel.add(applyFilterButton);
         filterPanel.add(clearFilterButton);
         
         // Create table
-        String[] columnNames = {"ID", "Title", "Description", "Due Date", "Priority", "Tags", "Status"};
-        tableModel = new DefaultTableModel(columnNames, 0) {
-            /**
-			 * 
-			 */
-			private static final long serialVersionUID = 1L;
-
-			@Override
-            public boolean isCellEditable(int row, int column) {
-                return false;
-            }
-        };
-        todoTable = new JTable(tableModel);
+        tableModel = new TodoTableModel();
+        if (VIRTUAL_TABLE_MODE.equals(PropertiesLoader.getProperty("todo.ui.tableMode", "paged"))) {
+            virtualModel = new VirtualTodoTableModel(new VirtualTodoTableModel.Source() {
+                @Override
+                public int count() {
+                    return todoService.countTodos(userId);
+                }
+
+                @Override
+                public List<Todo> load(int offset, int limit) {
+                    return todoService.getTodosSlice(userId, offset, limit);
+                }
+
+                @Override
+                public List<Todo> loadAfter(Todo last, int limit) {
+                    return todoService.getTodosPage(userId, TodoService.cursorAfter(last), limit).todos();
+                }
+            }, PAGE_SIZE, VIRTUAL_MAX_PAGES, tasks, this::showError);
+        }
+        todoTable = new JTable(virtualModel != null ? virtualModel : tableModel);
+        todoTable.setSelectionMode(ListSelectionModel.MULTIPLE_INTERVAL_SELECTION);
         JScrollPane scrollPane = new JScrollPane(todoTable);
         
+        // Fetch the next page once the user scrolls to the bottom of the loaded rows
+        scrollPane.getVerticalScrollBar().addAdjustmentListener(e -> {
+            JScrollBar scrollBar = (JScrollBar) e.getAdjustable();
+            boolean atBottom = scrollBar.getValue() + scrollBar.getVisibleAmount() >= scrollBar.getMaximum();
+            if (!e.getValueIsAdjusting() && atBottom && nextCursor != null) {
+                loadNextPage();
+            }
+        });
+        loadMoreButton = new JButton("Load More");
+        loadMoreButton.setEnabled(false);
+        loadMoreButton.addActionListener(e -> loadNextPage());
+        // The virtual model pages in rows by itself as the table scrolls
+        loadMoreButton.setVisible(virtualModel == null);
+        
         // Add components to panel
-        panel.add(filterPanel, BorderLayout.NORTH);
+        JPanel controlsPanel = new JPanel(new BorderLayout());
+        controlsPanel.add(searchPanel, BorderLayout.NORTH);
+        controlsPanel.add(filterPanel, BorderLayout.SOUTH);
+        panel.add(controlsPanel, BorderLayout.NORTH);
         panel.add(scrollPane, BorderLayout.CENTER);
+        panel.add(loadMoreButton, BorderLayout.SOUTH);
         
         // Add filter button listeners
-        applyFilterButton.addActionListener(e -> applyPriorityFilter());
-        clearFilterButton.addActionListener(e -> refreshTable());
+        applyFilterButton.addActionListener(e -> applyFilter());
+        clearFilterButton.addActionListener(e -> clearFilter());
+        searchButton.addActionListener(e -> search());
+        searchField.addActionListener(e -> search());
         
         return panel;
     }
 
+    // Combo box whose first entry is null, shown as "Any", for filters that may be left unset
+    private <E> JComboBox<E> createOptionalComboBox(E[] values) {
+        JComboBox<E> comboBox = new JComboBox<>();
+        comboBox.addItem(null);
+        for (E value : values) {
+            comboBox.addItem(value);
+        }
+        comboBox.setRenderer(new DefaultListCellRenderer() {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            public Component getListCellRendererComponent(JList<?> list, Object value, int index,
+                                                          boolean isSelected, boolean cellHasFocus) {
+                return super.getListCellRendererComponent(list, value == null ? "Any" : value, index, isSelected, cellHasFocus);
+            }
+        });
+        return comboBox;
+    }
+
     private JPanel createButtonPanel() {
         JPanel panel = new JPanel(new FlowLayout(FlowLayout.CENTER, 10, 10));
         
         addButton = new JButton("Add");
         updateButton = new JButton("Update");
+        updateButton.setEnabled(false); // Until a todo is selected
         deleteButton = new JButton("Delete");
         markCompletedButton = new JButton("Mark Completed");
+        deleteCompletedButton = new JButton("Delete Completed");
         logoutButton = new JButton("Logout"); 
         JButton clearButton = new JButton("Clear");
+        JButton exportButton = new JButton("Export");
         
         addButton.addActionListener(e -> addTodo());
         updateButton.addActionListener(e -> updateTodo());
         deleteButton.addActionListener(e -> deleteTodo());
         markCompletedButton.addActionListener(e -> markTodoCompleted());
+        deleteCompletedButton.addActionListener(e -> deleteCompletedTodos());
+        exportButton.addActionListener(e -> exportTodos());
         clearButton.addActionListener(e -> {
             clearFields();
             isUpdateMode = false;
@@ -221,7 +546,9 @@ public class TodoUI extends JFrame {
         panel.add(updateButton);
         panel.add(deleteButton);
         panel.add(markCompletedButton);
+        panel.add(deleteCompletedButton);
         panel.add(clearButton);
+        panel.add(exportButton);
         panel.add(logoutButton);
         return panel;
     }
@@ -253,10 +580,11 @@ public class TodoUI extends JFrame {
             Priority priority = (Priority) priorityComboBox.getSelectedItem();
             Tags tag = (Tags) tagsComboBox.getSelectedItem();
             
-            todoService.createTodo(0, userId, title, description, dueDate, priority, tag);
-            clearFields();
-            refreshTable();
-            JOptionPane.showMessageDialog(this, "Todo added successfully!");
+            runWrite(() -> todoService.createTodo(0, userId, title, description, dueDate, priority, tag), created -> {
+                clearFields();
+                refreshTable();
+                JOptionPane.showMessageDialog(this, "Todo added successfully!");
+            });
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this, "Invalid date format. Please use YYYY-MM-DD", "Error", JOptionPane.ERROR_MESSAGE);
         } catch (IllegalArgumentException e) {
@@ -282,10 +610,16 @@ public class TodoUI extends JFrame {
             Priority priority = (Priority) priorityComboBox.getSelectedItem();
             Tags tag =(Tags) tagsComboBox.getSelectedItem();
             
-            todoService.updateTodo(id, userId, title, description, dueDate, priority, tag, false);
-            clearFields();
-            refreshTable();
-            JOptionPane.showMessageDialog(this, "Todo updated successfully!");
+            if (editingTodo == null || editingTodo.getId() != id) {
+                // The fields were not filled from this todo, so there is no version to check
+                runWrite(() -> todoService.updateTodo(id, userId, title, description, dueDate, priority, tag, false), updated -> {
+                    clearFields();
+                    showUpdated(updated);
+                    JOptionPane.showMessageDialog(this, "Todo updated successfully!");
+                });
+                return;
+            }
+            saveEdits(id, editingTodo.getVersion(), title, description, dueDate, priority, tag);
         } catch (DateTimeParseException e) {
             JOptionPane.showMessageDialog(this, "Invalid date format. Please use yyyy-MM-dd", "Error", JOptionPane.ERROR_MESSAGE);
         } catch (IllegalArgumentException e) {
@@ -294,6 +628,36 @@ public class TodoUI extends JFrame {
         	
     }
 
+    /**
+     * Updates the todo only if nobody changed it since it was loaded. On a conflict the table
+     * shows the other version and the user either saves their edits over it, which retries
+     * against its version, or reloads it into the fields.
+     */
+    private void saveEdits(int id, int expectedVersion, String title, String description,
+                           LocalDate dueDate, Priority priority, Tags tag) {
+        runWrite(() -> todoService.updateTodoIfVersion(id, userId, expectedVersion, title, description, dueDate, priority, tag, false), result -> {
+            if (!result.isConflict()) {
+                clearFields();
+                showUpdated(result.todo());
+                JOptionPane.showMessageDialog(this, "Todo updated successfully!");
+                return;
+            }
+            Todo current = result.todo();
+            showUpdated(current);
+            String[] options = {"Save Mine", "Reload", "Cancel"};
+            int choice = JOptionPane.showOptionDialog(this,
+                    "This todo was changed elsewhere while you were editing it.\n" +
+                    "Save your changes over it, or reload it and discard your changes?",
+                    "Edit Conflict", JOptionPane.YES_NO_CANCEL_OPTION, JOptionPane.WARNING_MESSAGE,
+                    null, options, options[1]);
+            if (choice == 0) {
+                saveEdits(id, current.getVersion(), title, description, dueDate, priority, tag);
+            } else if (choice == 1) {
+                populateFields(current);
+            }
+        });
+    }
+
     private void deleteTodo() {
         int selectedRow = todoTable.getSelectedRow();
         if (selectedRow == -1) {
@@ -301,11 +665,22 @@ public class TodoUI extends JFrame {
             return;
         }
 
-        int id = (int) todoTable.getValueAt(selectedRow, 0);
-        if (todoService.deleteTodoById(id)) {
-            refreshTable();
-            JOptionPane.showMessageDialog(this, "Todo deleted successfully!");
+        if (todoTable.getSelectedRowCount() > 1) {
+            List<Integer> ids = getSelectedTodoIds();
+            runWrite(() -> todoService.deleteAll(ids, userId), deleted -> {
+                removeRows(ids);
+                JOptionPane.showMessageDialog(this, deleted + " todos deleted successfully!");
+            });
+            return;
         }
+
+        int id = (int) todoTable.getValueAt(selectedRow, 0);
+        runWrite(() -> todoService.deleteTodoById(id), deleted -> {
+            if (deleted) {
+                removeRows(List.of(id));
+                JOptionPane.showMessageDialog(this, "Todo deleted successfully!");
+            }
+        });
     }
 
     private void markTodoCompleted() {
@@ -315,46 +690,399 @@ public class TodoUI extends JFrame {
             return;
         }
 
+        if (todoTable.getSelectedRowCount() > 1) {
+            List<Integer> ids = getSelectedTodoIds();
+            runWrite(() -> todoService.completeAll(ids, userId), completed -> {
+                refreshTable();
+                JOptionPane.showMessageDialog(this, completed + " todos marked as completed!");
+            });
+            return;
+        }
+
         int id = (int) todoTable.getValueAt(selectedRow, 0);
-        Todo todo = todoService.getTodoById(id);
-        if (todo != null) {
-            todoService.updateTodo(id, userId, todo.getTitle(), todo.getDescription(), 
-                                 todo.getDueDate(), todo.getPriority(), todo.getTags(), true);
-            refreshTable();
+        runWrite(() -> todoService.markCompleted(id, userId), completed -> {
+            showUpdated(completed);
             JOptionPane.showMessageDialog(this, "Todo marked as completed!");
+        });
+    }
+
+    private void deleteCompletedTodos() {
+        runWrite(() -> todoService.deleteCompleted(userId), deleted -> {
+            refreshTable();
+            JOptionPane.showMessageDialog(this, deleted + " completed todos deleted");
+        });
+    }
+
+    /**
+     * Streams all of the user's todos to a file in the background, the format following the
+     * file name's extension. The progress dialog can cancel the export, which removes the
+     * partly written file.
+     */
+    private void exportTodos() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setDialogTitle("Export Todos (.csv or .jsonl)");
+        chooser.setSelectedFile(new File("todos." + TodoFileFormat.CSV.extension()));
+        if (chooser.showSaveDialog(this) != JFileChooser.APPROVE_OPTION) {
+            return;
+        }
+        Path path = chooser.getSelectedFile().toPath();
+        TodoFileFormat format = TodoFileFormat.forFileName(path.getFileName().toString());
+        if (format == null) {
+            JOptionPane.showMessageDialog(this, "Please name the file .csv or .jsonl", "Error", JOptionPane.ERROR_MESSAGE);
+            return;
         }
+        
+        ProgressMonitor monitor = new ProgressMonitor(this, "Exporting todos", null, 0, 1);
+        tasks.run(null, () -> {
+            int total = Math.max(todoService.countTodos(userId), 1);
+            SwingUtilities.invokeLater(() -> monitor.setMaximum(total));
+            try (Writer out = Files.newBufferedWriter(path, StandardCharsets.UTF_8)) {
+                return exporter.export(userId, format, out, written -> {
+                    if (monitor.isCanceled()) {
+                        throw new CancellationException("Export cancelled");
+                    }
+                    SwingUtilities.invokeLater(() -> monitor.setProgress(Math.min(written, total)));
+                });
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, written -> {
+            monitor.close();
+            JOptionPane.showMessageDialog(this, written + " todos exported to " + path.getFileName());
+        }, e -> {
+            monitor.close();
+            try {
+                Files.deleteIfExists(path);
+            } catch (IOException deleteFailed) {
+                // The error below is the one worth showing
+            }
+            if (!(e instanceof CancellationException)) {
+                showError(e);
+            }
+        });
+    }
+
+    /**
+     * Runs a change in the background with the edit buttons disabled, so a second click
+     * cannot start a conflicting write before the first one lands.
+     */
+    private <T> void runWrite(Supplier<T> write, Consumer<T> onSuccess) {
+        setWriteButtonsEnabled(false);
+        tasks.run(null, write, result -> {
+            setWriteButtonsEnabled(true);
+            refreshStats();
+            onSuccess.accept(result);
+        }, e -> {
+            setWriteButtonsEnabled(true);
+            showError(e);
+        });
+    }
+
+    // Repaints just the changed row unless the new due date moves it within the (due date, id) order
+    private void showUpdated(Todo updated) {
+        int row = updated == null || todoTable.getModel() != tableModel ? -1 : tableModel.indexOf(updated.getId());
+        if (row != -1 && tableModel.getTodoAt(row).getDueDate().equals(updated.getDueDate())) {
+            tableModel.putTodo(updated);
+        } else {
+            refreshTable();
+        }
+    }
+
+    private void removeRows(List<Integer> ids) {
+        if (todoTable.getModel() == tableModel) {
+            ids.forEach(tableModel::removeTodo);
+        } else {
+            virtualModel.refresh();
+        }
+    }
+
+    private void setWriteButtonsEnabled(boolean enabled) {
+        writing = !enabled;
+        addButton.setEnabled(enabled && !isUpdateMode);
+        deleteButton.setEnabled(enabled);
+        markCompletedButton.setEnabled(enabled);
+        deleteCompletedButton.setEnabled(enabled);
+        refreshUpdateButton();
+    }
+
+    // Update edits the selected todo, so it also waits for a selection
+    private void refreshUpdateButton() {
+        updateButton.setEnabled(!writing && todoTable.getSelectedRow() != -1);
+    }
+
+    private void showError(RuntimeException e) {
+        if (e instanceof NoSuchElementException) {
+            // The todo is already gone, so show what is left
+            refreshTable();
+        } else {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void showBusy(boolean busy) {
+        busyIndicator.setVisible(busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
+
+    private List<Integer> getSelectedTodoIds() {
+        List<Integer> ids = new ArrayList<>();
+        for (int row : todoTable.getSelectedRows()) {
+            // Rows of a page that is still loading have no id yet
+            Object id = todoTable.getValueAt(row, 0);
+            if (id != null) {
+                ids.add((int) id);
+            }
+        }
+        return ids;
+    }
+
+    private void applyFilter() {
+        try {
+            TodoQuery query = new TodoQuery(userId)
+                    .dueBetween(parseOptionalDate(dueFromField.getText()), parseOptionalDate(dueToField.getText()))
+                    .withStatus((Status) filterStatusComboBox.getSelectedItem())
+                    .sortBy((TodoQuery.Sort) sortComboBox.getSelectedItem())
+                    .limit(TodoService.MAX_PAGE_SIZE);
+            Priority priority = (Priority) filterPriorityComboBox.getSelectedItem();
+            if (priority != null) {
+                query.withPriorities(priority);
+            }
+            Tags tag = (Tags) filterTagsComboBox.getSelectedItem();
+            if (tag != null) {
+                query.withTags(tag);
+            }
+            
+            // A filtered view is one bounded result, so there is no next page to scroll into
+            nextCursor = null;
+            loadMoreButton.setEnabled(false);
+            showResults(() -> todoService.findTodos(query));
+        } catch (DateTimeParseException e) {
+            JOptionPane.showMessageDialog(this, "Invalid date format. Please use YYYY-MM-DD", "Error", JOptionPane.ERROR_MESSAGE);
+        } catch (IllegalArgumentException e) {
+            JOptionPane.showMessageDialog(this, e.getMessage(), "Error", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    private void search() {
+        String text = searchField.getText().trim();
+        if (text.isEmpty()) {
+            refreshTable();
+            return;
+        }
+        // Search results are one ranked, bounded list, like a filtered view
+        nextCursor = null;
+        loadMoreButton.setEnabled(false);
+        showResults(() -> todoService.search(userId, text, SEARCH_LIMIT));
+    }
+
+    // The user is still typing, so the running lookup is for text that is already stale
+    private void findTextChanged() {
+        cancelRunningFind();
+        findTimer.restart();
+    }
+
+    private void cancelRunningFind() {
+        if (runningFind != null) {
+            runningFind.cancel();
+            runningFind = null;
+        }
+    }
+
+    private void find() {
+        String text = findField.getText().trim();
+        if (text.isEmpty()) {
+            refreshTable();
+            return;
+        }
+        QueryCancellation cancellation = new QueryCancellation();
+        runningFind = cancellation;
+        nextCursor = null;
+        loadMoreButton.setEnabled(false);
+        showResults(() -> todoService.findMatching(userId, text, FIND_LIMIT, cancellation));
+    }
+
+    private void showResults(Supplier<List<Todo>> load) {
+        tasks.run(LOAD_TASK, load, todos -> {
+            activeResults = load;
+            todoTable.setModel(tableModel);
+            tableModel.setTodos(todos);
+        }, e -> {
+            // A cancelled lookup has already been replaced by a newer one
+            if (!(e instanceof CancellationException)) {
+                showError(e);
+            }
+        });
+    }
+
+    private LocalDate parseOptionalDate(String dateStr) throws DateTimeParseException {
+        return dateStr.isBlank() ? null : parseDate(dateStr);
     }
 
-    private void applyPriorityFilter() {
-        Priority selectedPriority = (Priority) filterPriorityComboBox.getSelectedItem();
-        List<Todo> filteredTodos = currentTodos.stream()
-                .filter(todo -> todo.getPriority() == selectedPriority)
-                .toList();
-        updateTableModel(filteredTodos);
+    private void clearFilter() {
+        filterPriorityComboBox.setSelectedItem(null);
+        filterTagsComboBox.setSelectedItem(null);
+        filterStatusComboBox.setSelectedItem(null);
+        sortComboBox.setSelectedIndex(0);
+        dueFromField.setText("");
+        dueToField.setText("");
+        searchField.setText("");
+        findField.setText("");
+        // Clearing the field scheduled a reload of its own, which the one below covers
+        findTimer.stop();
+        refreshTable();
     }
 
     private void refreshTable() {
-        currentTodos = todoService.getTodosByUserId(userId);
-        updateTableModel(currentTodos);
+        refreshStats();
+        if (virtualModel != null) {
+            tasks.cancel(LOAD_TASK);
+            todoTable.setModel(virtualModel);
+            virtualModel.refresh();
+            return;
+        }
+        tasks.await(LOAD_TASK, asyncService.getTodosPage(userId, null, PAGE_SIZE), page -> {
+            activeResults = null;
+            nextCursor = page.nextCursor();
+            hasMorePages = page.hasMore();
+            loadMoreButton.setEnabled(page.hasMore());
+            tableModel.setTodos(page.todos());
+        }, this::showError);
+    }
+
+    private void loadNextPage() {
+        if (nextCursor == null) {
+            return;
+        }
+        String cursor = nextCursor;
+        // Cleared until the page arrives so scrolling cannot request it twice
+        nextCursor = null;
+        loadMoreButton.setEnabled(false);
+        tasks.await(LOAD_TASK, asyncService.getTodosPage(userId, cursor, PAGE_SIZE), page -> {
+            nextCursor = page.nextCursor();
+            hasMorePages = page.hasMore();
+            loadMoreButton.setEnabled(page.hasMore());
+            tableModel.addTodos(page.todos());
+        }, e -> {
+            nextCursor = cursor;
+            loadMoreButton.setEnabled(true);
+            showError(e);
+        });
+    }
+
+    // Called on the listener thread for every change to this user's todos, including our own
+    private void onTodosChanged(TodoChange change) {
+        todoService.applyChange(change);
+        if (reminders != null) {
+            reminders.applyChange(change);
+        }
+        SwingUtilities.invokeLater(() -> showChange(change));
+    }
+
+    /**
+     * Brings the rows named by a change up to date without reloading the list. The virtual
+     * model only keeps a few pages, so it simply reloads those.
+     */
+    private void showChange(TodoChange change) {
+        if (!isDisplayable()) {
+            return;
+        }
+        refreshStats();
+        if (todoTable.getModel() != tableModel) {
+            virtualModel.refresh();
+            return;
+        }
+        if (change.reloadAll()) {
+            if (activeResults != null) {
+                showResults(activeResults);
+            } else {
+                refreshTable();
+            }
+            return;
+        }
+        if (change.operation() == TodoChange.Operation.DELETE) {
+            change.ids().forEach(tableModel::removeTodo);
+            return;
+        }
+        tasks.run(null, () -> todoService.getTodosByIds(userId, change.ids()), todos -> {
+            Set<Integer> found = new HashSet<>();
+            for (Todo todo : todos) {
+                found.add(todo.getId());
+                showChangedTodo(todo);
+            }
+            // Ids not returned now belong to another user
+            for (int id : change.ids()) {
+                if (!found.contains(id)) {
+                    tableModel.removeTodo(id);
+                }
+            }
+        }, this::showError);
+    }
+
+    // Called on the scheduler thread when one of this user's todos falls due
+    private void onReminder(Reminder reminder) {
+        SwingUtilities.invokeLater(() -> showReminder(reminder));
     }
 
-    private void updateTableModel(List<Todo> todos) {
-        tableModel.setRowCount(0);
-        for (Todo todo : todos) {
-            Object[] row = {
-                todo.getId(),
-                todo.getTitle(),
-                todo.getDescription(),
-                todo.getDueDate(),
-                todo.getPriority(),
-                todo.getTags(),
-                todo.isCompleted() ? "Completed" : "Pending"
-            };
-            tableModel.addRow(row);
+    // Called on the scheduler thread when reminders stop loading; it keeps retrying
+    private void onReminderFailure(RuntimeException failure) {
+        SwingUtilities.invokeLater(() -> {
+            if (isDisplayable()) {
+                reminderLabel.setText("Reminders unavailable: " + failure.getMessage());
+                reminderLabel.setVisible(true);
+            }
+        });
+    }
+
+    // Called on the listener thread when its connection drops; it keeps reconnecting and
+    // reloads the table once it is back
+    private void onChangeListenerFailure(RuntimeException failure) {
+        SwingUtilities.invokeLater(() -> {
+            if (isDisplayable()) {
+                reminderLabel.setText("Live updates unavailable: " + failure.getMessage());
+                reminderLabel.setVisible(true);
+            }
+        });
+    }
+
+    private void showReminder(Reminder reminder) {
+        if (!isDisplayable()) {
+            return;
+        }
+        shownReminders.add(reminder);
+        String text = "Due today: " + reminder.title();
+        if (shownReminders.size() > 1) {
+            text += " and " + (shownReminders.size() - 1) + " more";
+        }
+        reminderLabel.setText(text);
+        reminderLabel.setVisible(true);
+        Toolkit.getDefaultToolkit().beep();
+    }
+
+    private void showChangedTodo(Todo todo) {
+        int row = tableModel.indexOf(todo.getId());
+        // A filtered or searched view cannot tell whether new or changed todos still match,
+        // so it only refreshes the rows it already shows
+        if (activeResults != null) {
+            if (row != -1) {
+                tableModel.putTodo(todo);
+            }
+            return;
+        }
+        if (row != -1 && tableModel.getTodoAt(row).getDueDate().equals(todo.getDueDate())) {
+            tableModel.putTodo(todo);
+            return;
+        }
+        tableModel.removeTodo(todo.getId());
+        List<Todo> loaded = tableModel.getTodos();
+        int position = -Collections.binarySearch(loaded, todo, LIST_ORDER) - 1;
+        // Past the last loaded row the todo belongs to a page that is not loaded yet
+        if (position < loaded.size() || !hasMorePages) {
+            tableModel.insertTodo(position, todo);
         }
     }
 
     private void clearFields() {
+        editingTodo = null;
         titleField.setText("");
         descriptionField.setText("");
         dateField.setText("");
@@ -16,6 +16,7 @@ public class UI extends JFrame {
     private final JPasswordField passwordField;
     private final JButton registerButton;
     private final JButton loginButton;
+    private final BackgroundTasks tasks = new BackgroundTasks(this::showBusy);
     
     public static void main(String[] args) {
     	
@@ -69,31 +70,33 @@ public class UI extends JFrame {
     }
 
     private void handleRegister() {
-        try {
-            String username = usernameField.getText();
-            String password = new String(passwordField.getPassword());
-            if (!validateInput(username, password)) return;
+        String username = usernameField.getText();
+        String password = new String(passwordField.getPassword());
+        if (!validateInput(username, password)) {
+            clearPasswordField();
+            return;
+        }
 
-            User user = userService.registerUser(username, password);
+        tasks.run(null, () -> userService.registerUser(username, password), user -> {
             showMessage("Registration successful for user: " + user.getUsername(), JOptionPane.INFORMATION_MESSAGE);
             clearFields();
-        } catch (IllegalArgumentException e) {
-            showMessage(e.getMessage(), JOptionPane.ERROR_MESSAGE);
-        } finally {
             clearPasswordField();
-        }
+        }, this::handleFailure);
     }
     
     private void handleLogin() {
-        try {
-            String username = usernameField.getText();
-            String password = new String(passwordField.getPassword());
-            
-            // Validate first
-            if (!validateInput(username, password)) return;
-            
-            // Then attempt login
-            User user = userService.login(username, password);
+        String username = usernameField.getText();
+        String password = new String(passwordField.getPassword());
+        
+        // Validate first
+        if (!validateInput(username, password)) {
+            clearPasswordField();
+            return;
+        }
+        
+        // Then attempt login off the EDT
+        tasks.run(null, () -> userService.login(username, password), user -> {
+            clearPasswordField();
             if (user == null) {
                 showMessage("Invalid username or password.", JOptionPane.ERROR_MESSAGE);
                 return;
@@ -103,12 +106,24 @@ public class UI extends JFrame {
             clearFields();
             launchTodoUI(user);
             dispose();
-        } catch (IllegalArgumentException e) {
+        }, this::handleFailure);
+    }
+
+    private void handleFailure(RuntimeException e) {
+        clearPasswordField();
+        if (e instanceof IllegalArgumentException) {
             showMessage(e.getMessage(), JOptionPane.ERROR_MESSAGE);
-        } finally {
-            clearPasswordField();
+        } else {
+            showMessage("Could not reach the server: " + e.getMessage(), JOptionPane.ERROR_MESSAGE);
         }
     }
+
+    // Login and register both talk to the database, so neither may start while one is running
+    private void showBusy(boolean busy) {
+        loginButton.setEnabled(!busy);
+        registerButton.setEnabled(!busy);
+        setCursor(busy ? Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR) : Cursor.getDefaultCursor());
+    }
     
     private void launchTodoUI(User user) {
     	
@@ -0,0 +1,195 @@
+package com.todo.ui;
+
+import com.todo.model.Todo;
+
+import javax.swing.table.AbstractTableModel;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Table model for lists too large to load at once. It reports the total row count up front
+ * and fetches fixed-size pages only when the table asks for their cells. Rows of a page that
+ * is still on its way show a placeholder. When the table reads a page that has arrived, its
+ * neighbours are prefetched, and when more than {@code maxPages} pages are held, the ones
+ * farthest from the last page the table looked at are dropped, so memory stays bounded
+ * whatever the list size.
+ *
+ * The last row of every page that arrives is kept, so the page after it is read by seeking
+ * past that row, which costs the same wherever it is in the list. Only a page reached by a
+ * jump, with no loaded page right before it, is read by offset.
+ *
+ * Like any Swing model it must be used on the EDT.
+ */
+public class VirtualTodoTableModel extends AbstractTableModel {
+    private static final long serialVersionUID = 1L;
+
+    static final String LOADING = "Loading...";
+
+    /**
+     * Where the rows come from; both calls may block and run off the EDT.
+     */
+    public interface Source {
+        int count();
+
+        List<Todo> load(int offset, int limit);
+
+        /**
+         * Returns up to {@code limit} rows following {@code last} in list order.
+         */
+        List<Todo> loadAfter(Todo last, int limit);
+    }
+
+    private final Source source;
+    private final int pageSize;
+    private final int maxPages;
+    private final BackgroundTasks tasks;
+    private final Consumer<RuntimeException> onError;
+    private final Map<Integer, List<Todo>> pages = new HashMap<>();
+    private final Set<Integer> loading = new HashSet<>();
+    // Last row of each page that has arrived, kept after the page is evicted
+    private final Map<Integer, Todo> lastRows = new HashMap<>();
+    private int rowCount;
+    private int currentPage;
+    // Bumped by refresh so pages requested before it are ignored when they arrive
+    private int generation;
+
+    public VirtualTodoTableModel(Source source, int pageSize, int maxPages) {
+        this(source, pageSize, maxPages, new BackgroundTasks(busy -> { }), e -> { });
+    }
+
+    VirtualTodoTableModel(Source source, int pageSize, int maxPages, BackgroundTasks tasks, Consumer<RuntimeException> onError) {
+        if (pageSize <= 0) {
+            throw new IllegalArgumentException("Page size must be positive");
+        }
+        if (maxPages < 3) {
+            throw new IllegalArgumentException("At least three pages must fit: the visible one and its neighbours");
+        }
+        this.source = source;
+        this.pageSize = pageSize;
+        this.maxPages = maxPages;
+        this.tasks = tasks;
+        this.onError = onError;
+    }
+
+    /**
+     * Reloads the row count and drops every cached page; visible rows are fetched again as
+     * the table repaints.
+     */
+    public void refresh() {
+        int requested = ++generation;
+        loading.clear();
+        pages.clear();
+        lastRows.clear();
+        tasks.run(null, source::count, count -> {
+            if (requested != generation) {
+                return;
+            }
+            rowCount = count;
+            fireTableDataChanged();
+        }, onError);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public int getColumnCount() {
+        return TodoTableModel.COLUMN_NAMES.length;
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return TodoTableModel.COLUMN_NAMES[column];
+    }
+
+    @Override
+    public Class<?> getColumnClass(int column) {
+        return TodoTableModel.COLUMN_CLASSES[column];
+    }
+
+    @Override
+    public boolean isCellEditable(int row, int column) {
+        return false;
+    }
+
+    @Override
+    public Object getValueAt(int row, int column) {
+        Todo todo = getTodoAt(row);
+        if (todo == null) {
+            return column == 1 ? LOADING : null;
+        }
+        return TodoTableModel.cellValue(todo, column);
+    }
+
+    /**
+     * Returns the todo at the row, or null while its page is still loading.
+     */
+    public Todo getTodoAt(int row) {
+        int page = row / pageSize;
+        currentPage = page;
+        List<Todo> rows = pages.get(page);
+        if (rows == null) {
+            load(page);
+            return null;
+        }
+        load(page - 1);
+        load(page + 1);
+        int index = row - page * pageSize;
+        return index < rows.size() ? rows.get(index) : null;
+    }
+
+    public int getLoadedPageCount() {
+        return pages.size();
+    }
+
+    private void load(int page) {
+        if (page < 0 || page * pageSize >= rowCount || pages.containsKey(page) || !loading.add(page)) {
+            return;
+        }
+        int requested = generation;
+        Todo previousLast = lastRows.get(page - 1);
+        Supplier<List<Todo>> read = previousLast != null
+            ? () -> source.loadAfter(previousLast, pageSize)
+            : () -> source.load(page * pageSize, pageSize);
+        tasks.run(null, read, rows -> {
+            if (requested != generation) {
+                return;
+            }
+            loading.remove(page);
+            pages.put(page, rows);
+            if (!rows.isEmpty()) {
+                lastRows.put(page, rows.get(rows.size() - 1));
+            }
+            evictFarPages();
+            int first = page * pageSize;
+            int last = Math.min(rowCount, first + pageSize) - 1;
+            if (!rows.isEmpty() && last >= first) {
+                fireTableRowsUpdated(first, last);
+            }
+        }, e -> {
+            if (requested == generation) {
+                loading.remove(page);
+                onError.accept(e);
+            }
+        });
+    }
+
+    private void evictFarPages() {
+        while (pages.size() > maxPages) {
+            int farthest = currentPage;
+            for (int page : pages.keySet()) {
+                if (Math.abs(page - currentPage) > Math.abs(farthest - currentPage)) {
+                    farthest = page;
+                }
+            }
+            pages.remove(farthest);
+        }
+    }
+}
@@ -0,0 +1,4 @@
+-- Reminders load the pending todos of the subscribed users that fall due in a date window,
+-- in (due_date, id) order. Completed todos never need a reminder, so they stay out of the index.
+-- Built CONCURRENTLY, so outside a transaction (see the .conf file), to keep writes going.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_pending_due ON todos (due_date, id) WHERE status = 0;
@@ -0,0 +1,7 @@
+-- Ids below reserved_until may sit unused in a block some process reserved, so callers may
+-- only choose ids at or above it. next_id can run ahead of it when callers choose ids, and
+-- blocks are always reserved from next_id. Existing counters cannot tell which of their ids
+-- went out in blocks, so they assume all of them did.
+ALTER TABLE user_todo_counters ADD COLUMN reserved_until INTEGER NOT NULL DEFAULT 1;
+
+UPDATE user_todo_counters SET reserved_until = next_id;
@@ -0,0 +1,50 @@
+-- Change notifications name the version of every todo they report, so a process can skip
+-- changes its cache already holds, such as its own writes:
+-- "<op>:<user_id>:<id>,<id>,...:<version>,<version>,...". Deletes name the last version.
+-- An update that moves todos to another user is also reported to the previous owner, with
+-- the same new versions, so it knows they are gone. A payload that would not fit under the
+-- 8000 byte limit of pg_notify has both lists left empty, meaning "reload everything".
+CREATE FUNCTION todo_change_payload(op TEXT, owner INTEGER, ids BIGINT[], versions INTEGER[])
+   RETURNS TEXT AS $$
+   SELECT CASE WHEN octet_length(payload) < 8000 THEN payload ELSE op || ':' || owner || '::' END
+     FROM (SELECT op || ':' || owner || ':' ||
+                  -- Every entry takes at least four bytes, so this many can never fit
+                  CASE WHEN cardinality(ids) < 2000
+                       THEN array_to_string(ids, ',') || ':' || array_to_string(versions, ',')
+                       ELSE repeat('-', 8000) END AS payload) built
+$$ LANGUAGE sql IMMUTABLE;
+
+CREATE OR REPLACE FUNCTION notify_todo_changes() RETURNS trigger AS $$
+DECLARE
+   change RECORD;
+BEGIN
+   FOR change IN
+      SELECT user_id, array_agg(id ORDER BY id) AS ids, array_agg(version ORDER BY id) AS versions
+        FROM changed_rows
+       WHERE user_id IS NOT NULL
+       GROUP BY user_id
+   LOOP
+      PERFORM pg_notify('todo_changes', todo_change_payload(TG_OP, change.user_id, change.ids, change.versions));
+   END LOOP;
+   -- old_rows only exists for updates; plpgsql plans this query the first time it runs
+   IF TG_OP = 'UPDATE' THEN
+      FOR change IN
+         SELECT o.user_id, array_agg(o.id ORDER BY o.id) AS ids, array_agg(n.version ORDER BY o.id) AS versions
+           FROM old_rows o
+           JOIN changed_rows n ON n.id = o.id
+          WHERE o.user_id IS NOT NULL AND o.user_id IS DISTINCT FROM n.user_id
+          GROUP BY o.user_id
+      LOOP
+         PERFORM pg_notify('todo_changes', todo_change_payload(TG_OP, change.user_id, change.ids, change.versions));
+      END LOOP;
+   END IF;
+   RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER todos_notify_update ON todos;
+
+CREATE TRIGGER todos_notify_update
+   AFTER UPDATE ON todos
+   REFERENCING OLD TABLE AS old_rows NEW TABLE AS changed_rows
+   FOR EACH STATEMENT EXECUTE FUNCTION notify_todo_changes();
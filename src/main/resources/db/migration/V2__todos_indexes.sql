@@ -0,0 +1,11 @@
+-- Keyset listing per user: WHERE user_id = ? ORDER BY due_date, id.
+-- Only the keyset columns are indexed and rows are fetched from the heap. Including the
+-- other columns would copy the table into the index and index columns that every edit
+-- changes, so no update could be HOT.
+CREATE INDEX IF NOT EXISTS idx_todos_user_due_id
+   ON todos (user_id, due_date, id);
+
+-- Pending todos per user, ordered by due date.
+CREATE INDEX IF NOT EXISTS idx_todos_user_pending
+   ON todos (user_id, due_date, id)
+   WHERE status = 'PENDING';
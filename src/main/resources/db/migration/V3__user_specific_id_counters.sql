@@ -0,0 +1,22 @@
+-- Per-user counter for user_specific_id. TodoService reserves ids from it in blocks with
+-- a single upsert, so concurrent creators never hand out the same id.
+CREATE TABLE user_todo_counters (
+   user_id INTEGER PRIMARY KEY REFERENCES users(id) ON DELETE CASCADE,
+   next_id INTEGER NOT NULL
+);
+
+-- Todos created before allocation existed were all given 0; renumber users with duplicates
+-- in creation order so the unique index below can be built.
+UPDATE todos t
+   SET user_specific_id = numbered.rn
+  FROM (SELECT id, ROW_NUMBER() OVER (PARTITION BY user_id ORDER BY id) AS rn FROM todos) numbered
+ WHERE t.id = numbered.id
+   AND t.user_id IN (SELECT user_id FROM todos GROUP BY user_id, user_specific_id HAVING COUNT(*) > 1);
+
+INSERT INTO user_todo_counters (user_id, next_id)
+SELECT user_id, MAX(user_specific_id) + 1
+  FROM todos
+ WHERE user_id IS NOT NULL
+ GROUP BY user_id;
+
+CREATE UNIQUE INDEX ux_todos_user_specific_id ON todos (user_id, user_specific_id);
@@ -0,0 +1,36 @@
+-- Publishes every committed change to todos on the todo_changes channel, one notification
+-- per statement and user: "<op>:<user_id>:<id>,<id>,...". Statements touching more than
+-- 500 of a user's rows leave the id list empty, meaning "reload everything", which keeps
+-- the payload well under the 8000 byte limit.
+CREATE FUNCTION notify_todo_changes() RETURNS trigger AS $$
+DECLARE
+   change RECORD;
+BEGIN
+   FOR change IN
+      SELECT user_id, array_agg(id ORDER BY id) AS ids
+        FROM changed_rows
+       WHERE user_id IS NOT NULL
+       GROUP BY user_id
+   LOOP
+      PERFORM pg_notify('todo_changes', TG_OP || ':' || change.user_id || ':' ||
+         CASE WHEN cardinality(change.ids) <= 500 THEN array_to_string(change.ids, ',') ELSE '' END);
+   END LOOP;
+   RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables need one trigger per event; all of them expose the rows as changed_rows
+CREATE TRIGGER todos_notify_insert
+   AFTER INSERT ON todos
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT EXECUTE FUNCTION notify_todo_changes();
+
+CREATE TRIGGER todos_notify_update
+   AFTER UPDATE ON todos
+   REFERENCING NEW TABLE AS changed_rows
+   FOR EACH STATEMENT EXECUTE FUNCTION notify_todo_changes();
+
+CREATE TRIGGER todos_notify_delete
+   AFTER DELETE ON todos
+   REFERENCING OLD TABLE AS changed_rows
+   FOR EACH STATEMENT EXECUTE FUNCTION notify_todo_changes();
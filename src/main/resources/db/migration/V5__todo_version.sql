@@ -0,0 +1,14 @@
+-- Row version for optimistic concurrency. Conditional updates only match the version they
+-- read; the trigger bumps it on every update, whoever issues the statement.
+ALTER TABLE todos ADD COLUMN version INTEGER NOT NULL DEFAULT 0;
+
+CREATE FUNCTION bump_todo_version() RETURNS trigger AS $$
+BEGIN
+   NEW.version := OLD.version + 1;
+   RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER todos_bump_version
+   BEFORE UPDATE ON todos
+   FOR EACH ROW EXECUTE FUNCTION bump_todo_version();
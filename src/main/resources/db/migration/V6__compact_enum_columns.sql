@@ -0,0 +1,108 @@
+-- Stores priority, tag and status as SMALLINT codes instead of strings. The codes are
+-- fixed here and in TodoRowDecoder and must never be reordered:
+--   priority: 0 HIGH, 1 MEDIUM, 2 LOW (so ordering by the code is ordering by urgency)
+--   tag:      0 Work, 1 Home, 2 Urgent
+--   status:   0 PENDING, 1 COMPLETED
+-- Values that are missing or unknown get the defaults the application already read them as.
+--
+-- The switch is done online (this script runs outside a transaction, see the .conf file):
+-- code columns are added next to the strings and kept in step by a trigger, existing rows
+-- are backfilled in small committed batches, and the swap itself only takes a brief
+-- exclusive lock.
+
+ALTER TABLE todos
+   ADD COLUMN IF NOT EXISTS priority_code SMALLINT,
+   ADD COLUMN IF NOT EXISTS tag_code SMALLINT,
+   ADD COLUMN IF NOT EXISTS status_code SMALLINT;
+
+CREATE OR REPLACE FUNCTION todo_enum_codes() RETURNS trigger AS $$
+BEGIN
+   NEW.priority_code := CASE NEW.priority WHEN 'HIGH' THEN 0 WHEN 'LOW' THEN 2 ELSE 1 END;
+   NEW.tag_code := CASE NEW.tag WHEN 'Home' THEN 1 WHEN 'Urgent' THEN 2 ELSE 0 END;
+   NEW.status_code := CASE NEW.status
+                         WHEN 'PENDING' THEN 0
+                         WHEN 'COMPLETED' THEN 1
+                         ELSE CASE WHEN NEW.completed THEN 1 ELSE 0 END
+                      END;
+   RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+DROP TRIGGER IF EXISTS todos_enum_codes ON todos;
+CREATE TRIGGER todos_enum_codes
+   BEFORE INSERT OR UPDATE ON todos
+   FOR EACH ROW EXECUTE FUNCTION todo_enum_codes();
+-- Fires for the backfill below as well, which runs as a replica
+ALTER TABLE todos ENABLE ALWAYS TRIGGER todos_enum_codes;
+
+-- Rewrites existing rows by id range so the trigger fills in their codes, committing after
+-- each range so row locks are only held for one batch. Filling in codes is not a change to
+-- the todo, so this session runs as a replica, where the version and notify triggers do not
+-- fire: versions stay put and listeners are not told to reload every row.
+SET session_replication_role = replica;
+
+DO $$
+DECLARE
+   batch_start BIGINT;
+   last_id BIGINT;
+BEGIN
+   SELECT MIN(id), MAX(id) INTO batch_start, last_id FROM todos WHERE priority_code IS NULL;
+   WHILE batch_start <= last_id LOOP
+      UPDATE todos SET priority = priority
+       WHERE id >= batch_start AND id < batch_start + 5000 AND priority_code IS NULL;
+      COMMIT;
+      batch_start := batch_start + 5000;
+   END LOOP;
+END $$;
+
+RESET session_replication_role;
+
+-- Proves the codes are set with validated checks, so SET NOT NULL in the swap needs no scan.
+-- Each statement commits on its own, so a rerun after a failure finds some already added.
+DO $$
+BEGIN
+   IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'todos'::regclass AND conname = 'todos_priority_code_set') THEN
+      ALTER TABLE todos ADD CONSTRAINT todos_priority_code_set CHECK (priority_code IS NOT NULL) NOT VALID;
+   END IF;
+   IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'todos'::regclass AND conname = 'todos_tag_code_set') THEN
+      ALTER TABLE todos ADD CONSTRAINT todos_tag_code_set CHECK (tag_code IS NOT NULL) NOT VALID;
+   END IF;
+   IF NOT EXISTS (SELECT 1 FROM pg_constraint
+                   WHERE conrelid = 'todos'::regclass AND conname = 'todos_status_code_set') THEN
+      ALTER TABLE todos ADD CONSTRAINT todos_status_code_set CHECK (status_code IS NOT NULL) NOT VALID;
+   END IF;
+END $$;
+ALTER TABLE todos VALIDATE CONSTRAINT todos_priority_code_set;
+ALTER TABLE todos VALIDATE CONSTRAINT todos_tag_code_set;
+ALTER TABLE todos VALIDATE CONSTRAINT todos_status_code_set;
+
+-- The replacement for the index that goes with the string status. It is built before
+-- the swap so the pending list never runs without one, and without blocking writes.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_pending_codes
+   ON todos (user_id, due_date, id)
+   WHERE status_code = 0;
+
+-- The swap runs as one transaction; dropping the string columns drops their indexes
+DO $$
+BEGIN
+   DROP TRIGGER todos_enum_codes ON todos;
+   DROP FUNCTION todo_enum_codes();
+   ALTER TABLE todos
+      DROP COLUMN priority,
+      DROP COLUMN tag,
+      DROP COLUMN status,
+      ALTER COLUMN priority_code SET NOT NULL,
+      ALTER COLUMN tag_code SET NOT NULL,
+      ALTER COLUMN status_code SET NOT NULL,
+      ALTER COLUMN status_code SET DEFAULT 0;
+   ALTER TABLE todos
+      DROP CONSTRAINT todos_priority_code_set,
+      DROP CONSTRAINT todos_tag_code_set,
+      DROP CONSTRAINT todos_status_code_set;
+   ALTER TABLE todos RENAME COLUMN priority_code TO priority;
+   ALTER TABLE todos RENAME COLUMN tag_code TO tag;
+   ALTER TABLE todos RENAME COLUMN status_code TO status;
+   ALTER INDEX idx_todos_user_pending_codes RENAME TO idx_todos_user_pending;
+END $$;
@@ -0,0 +1,25 @@
+-- status becomes the only record of whether a todo is done; the completed column goes.
+-- Readers that still expect a completed column can use the todos_compat view until they
+-- move over.
+--
+-- This script runs outside a transaction (see the .conf file) so the indexes can be swapped
+-- without blocking writes; only the column drop takes an exclusive lock.
+
+-- Settle rows where the two disagreed the way the application showed them: as completed
+UPDATE todos SET status = 1 WHERE completed AND status <> 1;
+
+-- Serves both status filters in due date order, and deleting a user's completed todos
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_user_status_due
+   ON todos (user_id, status, due_date, id);
+
+DROP INDEX CONCURRENTLY IF EXISTS idx_todos_user_pending;
+
+-- The drop and the view replacing the column go together
+DO $$
+BEGIN
+   ALTER TABLE todos DROP COLUMN completed;
+
+   CREATE VIEW todos_compat AS
+      SELECT todos.*, status = 1 AS completed
+        FROM todos;
+END $$;
@@ -0,0 +1,7 @@
+-- Trigram indexes let ILIKE '%text%' find substrings, such as "voice" inside "invoice",
+-- without reading every row. Patterns need at least three characters to use them.
+-- Built CONCURRENTLY, so outside a transaction (see the .conf file), to keep writes going.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_title_trgm ON todos USING gin (title gin_trgm_ops);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_todos_description_trgm ON todos USING gin (description gin_trgm_ops);
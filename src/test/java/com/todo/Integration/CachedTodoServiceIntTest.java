@@ -0,0 +1,17 @@
+package com.todo.Integration;
+
+import com.todo.service.TodoCache;
+import com.todo.service.TodoService;
+
+/**
+ * Runs every TodoServiceIntTest with the todo cache on, sized as the application ships it
+ * (todo.cache.maxTodos in the main application.properties). The test properties leave the
+ * cache off.
+ */
+class CachedTodoServiceIntTest extends TodoServiceIntTest {
+
+    @Override
+    TodoService newTodoService() {
+        return new TodoService(new TodoCache(10_000));
+    }
+}
@@ -0,0 +1,46 @@
+package com.todo.Integration;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.service.UserService;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Setup shared by the integration test classes. The first connection migrates the test
+ * database, and no test changes the schema, so every class runs against the full set of
+ * migrations and only has to clear the rows earlier tests left behind.
+ */
+final class IntTestDatabase {
+
+    static final String TEST_PASSWORD = "testpass";
+
+    private IntTestDatabase() {
+    }
+
+    /**
+     * Deletes every todo and user, then registers {@code username} and returns its id.
+     */
+    static int resetWithUser(UserService userService, String username) {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM todos");
+            stmt.execute("DELETE FROM users CASCADE");
+        } catch (SQLException e) {
+            fail("Database setup failed: " + e.getMessage());
+        }
+        return userService.registerUser(username, TEST_PASSWORD).getUserid();
+    }
+
+    static void deleteTodos() {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.execute("DELETE FROM todos");
+        } catch (SQLException e) {
+            fail("Database cleanup failed: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.todo.Integration;
+
+import com.todo.model.Priority;
+import com.todo.model.Reminder;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.model.TodoChange;
+import com.todo.service.ReminderScheduler;
+import com.todo.service.TodoCache;
+import com.todo.service.TodoService;
+import com.todo.service.UserService;
+
+import org.junit.jupiter.api.*;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ReminderSchedulerIntTest {
+    private static final String TEST_PASSWORD = IntTestDatabase.TEST_PASSWORD;
+    private TodoService todoService;
+    private UserService userService;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        todoService = new TodoService();
+        userService = new UserService();
+        userId = IntTestDatabase.resetWithUser(userService, "reminderOwner");
+    }
+
+    @AfterEach
+    void tearDown() {
+        IntTestDatabase.deleteTodos();
+    }
+
+    @Test
+    @DisplayName("Reminders Load Pending Todos Of A Date Window In Pages")
+    void testGetReminders() {
+        LocalDate today = LocalDate.now();
+        Todo first = todoService.createTodo(1, userId, "First", "Description", today, Priority.LOW, Tags.Work);
+        Todo second = todoService.createTodo(2, userId, "Second", "Description", today, Priority.LOW, Tags.Work);
+        Todo tomorrow = todoService.createTodo(3, userId, "Tomorrow", "Description", today.plusDays(1), Priority.LOW, Tags.Work);
+        todoService.createTodo(4, userId, "Later", "Description", today.plusDays(5), Priority.LOW, Tags.Work);
+        Todo done = todoService.createTodo(5, userId, "Done", "Description", today, Priority.LOW, Tags.Work);
+        todoService.markCompleted(done.getId(), userId);
+        int otherUserId = userService.registerUser("reminderOther", TEST_PASSWORD).getUserid();
+        Todo other = todoService.createTodo(0, otherUserId, "Other", "Description", today, Priority.LOW, Tags.Work);
+
+        List<Reminder> firstPage = todoService.getReminders(List.of(userId), today, today.plusDays(2), null, 2);
+        assertEquals(List.of(first.getId(), second.getId()), firstPage.stream().map(Reminder::todoId).toList());
+        assertEquals(new Reminder(first.getId(), userId, "First", today), firstPage.get(0));
+
+        List<Reminder> secondPage = todoService.getReminders(List.of(userId), today, today.plusDays(2), firstPage.get(1), 2);
+        assertEquals(List.of(tomorrow.getId()), secondPage.stream().map(Reminder::todoId).toList());
+
+        assertEquals(List.of(other.getId()),
+            todoService.getReminders(List.of(otherUserId), today, today.plusDays(2), null, 10).stream().map(Reminder::todoId).toList());
+        assertTrue(todoService.getReminders(List.of(), today, today.plusDays(2), null, 10).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> todoService.getReminders(null, today, today, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> todoService.getReminders(List.of(userId), today, null, null, 10));
+        assertThrows(IllegalArgumentException.class, () -> todoService.getReminders(List.of(userId), today, today, null, 0));
+    }
+
+    @Test
+    @DisplayName("Reminder Scheduler Fires Loaded And Changed Todos At The Reminder Time")
+    void testReminderScheduler() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        Todo loaded = todoService.createTodo(1, userId, "Loaded", "Description", today, Priority.LOW, Tags.Work);
+        Todo completedLater = todoService.createTodo(2, userId, "Completed Later", "Description", today, Priority.LOW, Tags.Work);
+
+        // A clock two seconds before today's reminder time
+        LocalTime remindAt = LocalTime.NOON;
+        Clock clock = Clock.offset(Clock.systemDefaultZone(), Duration.between(Instant.now(),
+            today.atTime(remindAt).minusSeconds(2).atZone(ZoneId.systemDefault()).toInstant()));
+        BlockingQueue<Reminder> fired = new LinkedBlockingQueue<>();
+        try (ReminderScheduler scheduler = new ReminderScheduler(todoService, remindAt, 1, 20, clock)) {
+            scheduler.subscribe(userId, fired::add);
+
+            Todo added = todoService.createTodo(3, userId, "Added", "Description", today, Priority.LOW, Tags.Work);
+            scheduler.applyChange(new TodoChange(TodoChange.Operation.INSERT, userId, List.of(added.getId())));
+            todoService.markCompleted(completedLater.getId(), userId);
+            scheduler.applyChange(new TodoChange(TodoChange.Operation.UPDATE, userId, List.of(completedLater.getId())));
+
+            Set<Integer> ids = new HashSet<>();
+            for (int i = 0; i < 2; i++) {
+                Reminder reminder = fired.poll(10, TimeUnit.SECONDS);
+                assertNotNull(reminder, "Reminder should fire");
+                ids.add(reminder.todoId());
+            }
+            assertEquals(Set.of(loaded.getId(), added.getId()), ids);
+            assertNull(fired.poll(200, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Reminder Scheduler Reports A Failing Load Once And Retries With Backoff")
+    void testReminderSchedulerFailure() throws InterruptedException {
+        LocalDate today = LocalDate.now();
+        Todo due = todoService.createTodo(1, userId, "Due", "Description", today, Priority.LOW, Tags.Work);
+        AtomicInteger loads = new AtomicInteger();
+        TodoService failingTwice = new TodoService(new TodoCache(0)) {
+            @Override
+            public List<Reminder> getReminders(Collection<Integer> userIds, LocalDate from, LocalDate to, Reminder after, int limit) {
+                if (!userIds.isEmpty() && loads.incrementAndGet() <= 2) {
+                    throw new RuntimeException("Database error: connection refused");
+                }
+                return super.getReminders(userIds, from, to, after, limit);
+            }
+        };
+
+        // Retries come after one and then two seconds, so the reminder is loaded three seconds in
+        LocalTime remindAt = LocalTime.NOON;
+        Clock clock = Clock.offset(Clock.systemDefaultZone(), Duration.between(Instant.now(),
+            today.atTime(remindAt).minusSeconds(5).atZone(ZoneId.systemDefault()).toInstant()));
+        BlockingQueue<Reminder> fired = new LinkedBlockingQueue<>();
+        List<RuntimeException> failures = new CopyOnWriteArrayList<>();
+        try (ReminderScheduler scheduler = new ReminderScheduler(failingTwice, remindAt, 1, 20, clock)) {
+            scheduler.addFailureListener(failures::add);
+            scheduler.subscribe(userId, fired::add);
+
+            Reminder reminder = fired.poll(10, TimeUnit.SECONDS);
+            assertNotNull(reminder, "Reminder should fire once loading recovers");
+            assertEquals(due.getId(), reminder.todoId());
+            assertEquals(3, loads.get());
+            assertEquals(1, failures.size());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.todo.Integration;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.model.TodoChange;
+import com.todo.service.TodoChangeListener;
+import com.todo.service.TodoService;
+import com.todo.service.UserService;
+import com.todo.config.DatabaseConfig;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoChangeListenerIntTest {
+    private TodoService todoService;
+    private UserService userService;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        todoService = new TodoService();
+        userService = new UserService();
+        userId = IntTestDatabase.resetWithUser(userService, "listenerOwner");
+    }
+
+    @AfterEach
+    void tearDown() {
+        IntTestDatabase.deleteTodos();
+    }
+
+    @Test
+    @DisplayName("Committed Changes Are Pushed To Listeners Of The Owner")
+    void testChangeNotifications() throws Exception {
+        int otherUserId = userService.registerUser("listeneruser", "pass").getUserid();
+        BlockingQueue<TodoChange> changes = new LinkedBlockingQueue<>();
+
+        try (TodoChangeListener listener = new TodoChangeListener(50)) {
+            listener.subscribe(userId, changes::add);
+            awaitListening();
+
+            todoService.createTodo(0, otherUserId, "Not Mine", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+            Todo first = todoService.createTodo(0, userId, "First", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+            Todo second = todoService.createTodo(0, userId, "Second", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+            todoService.markCompleted(first.getId(), userId);
+            todoService.deleteAll(List.of(first.getId(), second.getId()), userId);
+            Todo moved = todoService.createTodo(0, userId, "Moved", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+            todoService.updateTodo(moved.getId(), otherUserId, "Moved", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work, false);
+
+            assertEquals(new TodoChange(TodoChange.Operation.INSERT, userId, List.of(first.getId()), List.of(0)), changes.poll(5, TimeUnit.SECONDS));
+            assertEquals(new TodoChange(TodoChange.Operation.INSERT, userId, List.of(second.getId()), List.of(0)), changes.poll(5, TimeUnit.SECONDS));
+            assertEquals(new TodoChange(TodoChange.Operation.UPDATE, userId, List.of(first.getId()), List.of(1)), changes.poll(5, TimeUnit.SECONDS));
+            assertEquals(new TodoChange(TodoChange.Operation.DELETE, userId, List.of(first.getId(), second.getId()), List.of(1, 0)), changes.poll(5, TimeUnit.SECONDS));
+            assertEquals(new TodoChange(TodoChange.Operation.INSERT, userId, List.of(moved.getId()), List.of(0)), changes.poll(5, TimeUnit.SECONDS));
+            // The previous owner hears about a todo moved away from it
+            assertEquals(new TodoChange(TodoChange.Operation.UPDATE, userId, List.of(moved.getId()), List.of(1)), changes.poll(5, TimeUnit.SECONDS));
+            assertNull(changes.poll(200, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Change Payloads Fall Back To A Reload Only When Too Long To Send")
+    void testChangePayloadLimit() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            // 400 ten digit ids still fit under the 8000 byte limit...
+            try (ResultSet rs = stmt.executeQuery("SELECT todo_change_payload('UPDATE', 7, array_agg(g), array_agg(1)) " +
+                     "FROM generate_series(1000000001::bigint, 1000000400) g")) {
+                assertTrue(rs.next());
+                assertTrue(rs.getString(1).startsWith("UPDATE:7:1000000001,1000000002,"));
+                assertTrue(rs.getString(1).endsWith(",1000000400:" + "1,".repeat(399) + "1"));
+            }
+            // ...but 700 of them do not, and neither do thousands of short ones
+            try (ResultSet rs = stmt.executeQuery("SELECT todo_change_payload('UPDATE', 7, array_agg(g), array_agg(1)) " +
+                     "FROM generate_series(1000000001::bigint, 1000000700) g")) {
+                assertTrue(rs.next());
+                assertEquals("UPDATE:7::", rs.getString(1));
+            }
+            try (ResultSet rs = stmt.executeQuery("SELECT todo_change_payload('DELETE', 7, array_agg(g), array_agg(0)) " +
+                     "FROM generate_series(1::bigint, 5000) g")) {
+                assertTrue(rs.next());
+                assertEquals("DELETE:7::", rs.getString(1));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("A Dropped Listener Connection Is Reported And Reopened")
+    void testChangeListenerReconnects() throws Exception {
+        BlockingQueue<RuntimeException> failures = new LinkedBlockingQueue<>();
+        BlockingQueue<TodoChange> changes = new LinkedBlockingQueue<>();
+
+        try (TodoChangeListener listener = new TodoChangeListener(50)) {
+            listener.addFailureListener(failures::add);
+            // A failing subscriber is logged and does not keep the reload from the next one
+            listener.subscribe(userId, change -> {
+                throw new IllegalStateException("Subscriber failed");
+            });
+            listener.subscribe(userId, changes::add);
+            awaitListening();
+
+            try (Connection conn = DatabaseConfig.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("SELECT pg_terminate_backend(pid) FROM pg_stat_activity WHERE query = 'LISTEN todo_changes'");
+            }
+
+            RuntimeException failure = failures.poll(5, TimeUnit.SECONDS);
+            assertNotNull(failure);
+            assertTrue(failure.getMessage().startsWith("Database error: "));
+            // Notifications may have been missed, so subscribers reload once it is back
+            assertEquals(new TodoChange(TodoChange.Operation.UPDATE, userId, List.of()), changes.poll(15, TimeUnit.SECONDS));
+            assertNull(failures.poll(200, TimeUnit.MILLISECONDS));
+        }
+    }
+
+    // The listener connects in the background; wait until its LISTEN has run
+    private void awaitListening() throws SQLException, InterruptedException {
+        for (int attempt = 0; attempt < 100; attempt++) {
+            try (Connection conn = DatabaseConfig.getConnection();
+                 ResultSet rs = conn.createStatement().executeQuery(
+                     "SELECT 1 FROM pg_stat_activity WHERE query = 'LISTEN todo_changes'")) {
+                if (rs.next()) {
+                    return;
+                }
+            }
+            Thread.sleep(50);
+        }
+        fail("Listener did not connect");
+    }
+}
@@ -0,0 +1,64 @@
+package com.todo.Integration;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.service.TodoExporter;
+import com.todo.service.TodoFileFormat;
+import com.todo.service.TodoService;
+import com.todo.service.UserService;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoExporterIntTest {
+    private TodoService todoService;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        todoService = new TodoService();
+        userId = IntTestDatabase.resetWithUser(new UserService(), "exportOwner");
+    }
+
+    @AfterEach
+    void tearDown() {
+        IntTestDatabase.deleteTodos();
+    }
+
+    @Test
+    @DisplayName("Export Streams Todos As CSV And JSON Lines")
+    void testExport() throws IOException {
+        Todo quoted = todoService.createTodo(1, userId, "Say \"hi\", now", "Line one\nline two",
+            LocalDate.of(2099, 1, 2), Priority.HIGH, Tags.Home);
+        Todo plain = todoService.createTodo(2, userId, "Plain", "Description",
+            LocalDate.of(2099, 1, 3), Priority.LOW, Tags.Work);
+        todoService.markCompleted(plain.getId(), userId);
+
+        List<Integer> progress = new ArrayList<>();
+        StringWriter csv = new StringWriter();
+        assertEquals(2, new TodoExporter(1).export(userId, TodoFileFormat.CSV, csv, progress::add));
+        assertEquals(String.join("\n",
+            "id,user_specific_id,title,description,due_date,priority,tag,status",
+            quoted.getId() + ",1,\"Say \"\"hi\"\", now\",\"Line one\nline two\",2099-01-02,HIGH,Home,PENDING",
+            plain.getId() + ",2,Plain,Description,2099-01-03,LOW,Work,COMPLETED") + "\n", csv.toString());
+        assertEquals(List.of(1, 2, 2), progress);
+
+        StringWriter json = new StringWriter();
+        assertEquals(2, new TodoExporter().export(userId, TodoFileFormat.JSON_LINES, json, null));
+        assertEquals("{\"id\":" + quoted.getId() + ",\"user_specific_id\":1,\"title\":\"Say \\\"hi\\\", now\"," +
+            "\"description\":\"Line one\\nline two\",\"due_date\":\"2099-01-02\",\"priority\":\"HIGH\"," +
+            "\"tag\":\"Home\",\"status\":\"PENDING\"}", json.toString().split("\n")[0]);
+
+        StringWriter empty = new StringWriter();
+        assertEquals(0, new TodoExporter().export(userId + 1000, TodoFileFormat.JSON_LINES, empty, null));
+        assertEquals("", empty.toString());
+    }
+}
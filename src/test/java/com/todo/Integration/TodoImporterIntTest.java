@@ -0,0 +1,189 @@
+package com.todo.Integration;
+
+import com.todo.model.Priority;
+import com.todo.model.Status;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.model.TodoImportResult;
+import com.todo.service.TodoExporter;
+import com.todo.service.TodoFileFormat;
+import com.todo.service.TodoImporter;
+import com.todo.service.TodoService;
+import com.todo.service.UserService;
+import com.todo.config.DatabaseConfig;
+
+import org.junit.jupiter.api.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.sql.Connection;
+import java.sql.Statement;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoImporterIntTest {
+    private static final String TEST_PASSWORD = IntTestDatabase.TEST_PASSWORD;
+    private TodoService todoService;
+    private UserService userService;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        todoService = new TodoService();
+        userService = new UserService();
+        userId = IntTestDatabase.resetWithUser(userService, "importOwner");
+    }
+
+    @AfterEach
+    void tearDown() {
+        IntTestDatabase.deleteTodos();
+    }
+
+    @Test
+    @DisplayName("Import Loads Valid Rows And Reports The Rest By Line")
+    void testImport() throws IOException {
+        Todo existing = todoService.createTodo(3, userId, "Existing", "Already here",
+            LocalDate.of(2099, 1, 1), Priority.LOW, Tags.Work);
+        String csv = String.join("\r\n",
+            "id,user_specific_id,title,description,due_date,priority,tag,status",
+            "99,,First,Imported,2099-01-01,HIGH,Home,",
+            ",5,\"Two, \"\"quoted\"\"\",\"Spans",
+            "lines\",2099-01-02,low,work,COMPLETED",
+            ",,Bad,Priority,2099-01-03,URGENT,Home,",
+            ",,Old,Past,2000-01-01,LOW,Home,",
+            ",3,Taken,Existing id,2099-01-04,LOW,Home,",
+            ",5,Again,Duplicate,2099-01-05,LOW,Home,",
+            ",,Short,row",
+            ",,Last,Imported,2099-01-06,MEDIUM,Urgent,PENDING") + "\r\n";
+
+        List<Integer> progress = new ArrayList<>();
+        TodoImportResult result = new TodoImporter().importTodos(userId, TodoFileFormat.CSV, new StringReader(csv), progress::add);
+        assertEquals(4, result.imported());
+        assertEquals(4, result.failed());
+        assertEquals(List.of(
+            new TodoImportResult.RowError(5, "Invalid priority: URGENT"),
+            new TodoImportResult.RowError(7, "User specific ID 3 is already taken"),
+            new TodoImportResult.RowError(8, "User specific ID 5 is already taken"),
+            new TodoImportResult.RowError(9, "Expected 8 fields but got 4")), result.errors());
+        assertEquals(List.of(8), progress);
+
+        List<Todo> todos = todoService.getTodosByUserId(userId);
+        assertEquals(5, todos.size());
+        Todo first = todos.stream().filter(todo -> todo.getTitle().equals("First")).findFirst().orElseThrow();
+        Todo quoted = todos.stream().filter(todo -> todo.getUserSpecificId() == 5).findFirst().orElseThrow();
+        Todo last = todos.stream().filter(todo -> todo.getTitle().equals("Last")).findFirst().orElseThrow();
+        assertNotEquals(99, first.getId());
+        assertTrue(first.getUserSpecificId() > 5);
+        Todo old = todos.stream().filter(todo -> todo.getTitle().equals("Old")).findFirst().orElseThrow();
+        assertEquals(LocalDate.of(2000, 1, 1), old.getDueDate());
+        assertEquals(first.getUserSpecificId() + 1, old.getUserSpecificId());
+        assertEquals(first.getUserSpecificId() + 2, last.getUserSpecificId());
+        assertEquals("Two, \"quoted\"", quoted.getTitle());
+        assertEquals("Spans\r\nlines", quoted.getDescription());
+        assertEquals(Priority.LOW, quoted.getPriority());
+        assertEquals(Tags.Work, quoted.getTags());
+        assertEquals(Status.COMPLETED, quoted.getStatus());
+        assertEquals(Status.PENDING, first.getStatus());
+        assertEquals("Existing", todoService.getTodoById(existing.getId()).getTitle());
+        // The counter moved past the imported ids
+        assertTrue(todoService.createTodo(0, userId, "After", "Import", LocalDate.of(2099, 1, 7), Priority.LOW, Tags.Home)
+            .getUserSpecificId() > last.getUserSpecificId());
+
+        int otherUserId = userService.registerUser("importOther", TEST_PASSWORD).getUserid();
+        String json = String.join("\n",
+            "{\"title\":\"Caf\\u00e9 \\\"run\\\"\",\"description\":\"Json\",\"due_date\":\"2099-02-01\"," +
+                "\"priority\":\"MEDIUM\",\"tag\":\"Home\",\"status\":null,\"user_specific_id\":2}",
+            "",
+            "{\"title\": }",
+            "{\"title\":\"Nested\",\"description\":{\"a\":1}}",
+            "{\"description\":\"No title\",\"due_date\":\"2099-02-01\",\"priority\":\"LOW\",\"tag\":\"Home\"}");
+        result = new TodoImporter(2).importTodos(otherUserId, TodoFileFormat.JSON_LINES, new StringReader(json), null);
+        assertEquals(1, result.imported());
+        assertEquals(3, result.failed());
+        assertEquals(List.of(3, 4), result.errors().stream().map(TodoImportResult.RowError::line).toList());
+        Todo imported = todoService.getTodosByUserId(otherUserId).get(0);
+        assertEquals("Caf\u00e9 \"run\"", imported.getTitle());
+        assertEquals(2, imported.getUserSpecificId());
+
+        // An export imports back unchanged
+        StringWriter exported = new StringWriter();
+        new TodoExporter().export(userId, TodoFileFormat.JSON_LINES, exported, null);
+        int copyUserId = userService.registerUser("importCopy", TEST_PASSWORD).getUserid();
+        result = new TodoImporter().importTodos(copyUserId, TodoFileFormat.JSON_LINES, new StringReader(exported.toString()), null);
+        assertEquals(6, result.imported());
+        assertEquals(0, result.failed());
+        assertEquals(todoService.getTodosByUserId(userId).stream().map(Todo::getTitle).sorted().toList(),
+            todoService.getTodosByUserId(copyUserId).stream().map(Todo::getTitle).sorted().toList());
+
+        assertThrows(IllegalArgumentException.class, () -> new TodoImporter().importTodos(userId, TodoFileFormat.CSV,
+            new StringReader("title,description,due_date,priority\n"), null));
+        assertThrows(RuntimeException.class, () -> new TodoImporter().importTodos(userId + 1000, TodoFileFormat.CSV,
+            new StringReader(csv), null));
+        assertEquals(6, todoService.getTodosByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("Export Then Import Keeps Overdue And Completed Todos")
+    void testExportImportRoundTrip() throws Exception {
+        todoService.createTodo(0, userId, "Upcoming", "Pending", LocalDate.of(2099, 1, 1), Priority.LOW, Tags.Work);
+        Todo done = todoService.createTodo(0, userId, "Done", "Completed", LocalDate.of(2099, 1, 2), Priority.HIGH, Tags.Home);
+        todoService.markCompleted(done.getId(), userId);
+        // The service turns away past due dates, so the overdue todo goes in directly
+        try (Connection conn = DatabaseConfig.getConnection();
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO todos (user_id, user_specific_id, title, description, due_date, priority, tag, status) " +
+                "VALUES (" + userId + ", 100, 'Overdue', 'Past due', DATE '2000-01-01', 0, 2, 0)");
+        }
+
+        for (TodoFileFormat format : TodoFileFormat.values()) {
+            StringWriter exported = new StringWriter();
+            assertEquals(3, new TodoExporter().export(userId, format, exported, null));
+            int copyUserId = userService.registerUser("roundTrip" + format, TEST_PASSWORD).getUserid();
+            TodoImportResult result = new TodoImporter().importTodos(copyUserId, format, new StringReader(exported.toString()), null);
+            assertEquals(3, result.imported(), format.toString());
+            assertEquals(List.of(), result.errors(), format.toString());
+
+            List<Todo> copies = todoService.getTodosByUserId(copyUserId);
+            Todo overdue = copies.stream().filter(todo -> todo.getTitle().equals("Overdue")).findFirst().orElseThrow();
+            assertEquals(LocalDate.of(2000, 1, 1), overdue.getDueDate());
+            assertEquals(100, overdue.getUserSpecificId());
+            assertEquals(Priority.HIGH, overdue.getPriority());
+            assertEquals(Tags.Urgent, overdue.getTags());
+            assertEquals(Status.PENDING, overdue.getStatus());
+            Todo completed = copies.stream().filter(todo -> todo.getTitle().equals("Done")).findFirst().orElseThrow();
+            assertEquals(Status.COMPLETED, completed.getStatus());
+            assertEquals(done.getUserSpecificId(), completed.getUserSpecificId());
+        }
+    }
+
+    @Test
+    @DisplayName("Import Rejects File IDs Inside An Allocated Block")
+    void testImportRespectsAllocatedBlocks() throws IOException {
+        LocalDate due = LocalDate.now().plusDays(1);
+        Todo allocated = todoService.createTodo(0, userId, "Allocated", "Description", due, Priority.LOW, Tags.Work);
+        assertEquals(1, allocated.getUserSpecificId());
+
+        // The rest of the block stays with the allocator, so 4 must not be imported
+        String csv = "user_specific_id,title,description,due_date,priority,tag\n" +
+            "4,In block,Description," + due + ",LOW,Work\n" +
+            "500,Far,Description," + due + ",LOW,Work\n";
+        TodoImportResult result = new TodoImporter().importTodos(userId, TodoFileFormat.CSV, new StringReader(csv), null);
+        assertEquals(1, result.imported());
+        assertEquals(List.of(new TodoImportResult.RowError(2, "User specific ID 4 is already taken")), result.errors());
+
+        Set<Integer> specificIds = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            specificIds.add(todoService.createTodo(0, userId, "Next " + i, "Description", due, Priority.LOW, Tags.Work)
+                .getUserSpecificId());
+        }
+        assertEquals(30, specificIds.size());
+        assertFalse(specificIds.contains(500));
+        assertEquals(32, todoService.countTodos(userId));
+    }
+}
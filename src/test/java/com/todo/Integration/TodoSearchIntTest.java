@@ -0,0 +1,92 @@
+package com.todo.Integration;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.service.QueryCancellation;
+import com.todo.service.TodoService;
+import com.todo.service.UserService;
+
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoSearchIntTest {
+    private static final String TEST_PASSWORD = IntTestDatabase.TEST_PASSWORD;
+    private TodoService todoService;
+    private UserService userService;
+    private int userId;
+
+    @BeforeEach
+    void setUp() {
+        todoService = new TodoService();
+        userService = new UserService();
+        userId = IntTestDatabase.resetWithUser(userService, "searchOwner");
+    }
+
+    @AfterEach
+    void tearDown() {
+        IntTestDatabase.deleteTodos();
+    }
+
+    @Test
+    @DisplayName("Full-Text Search Ranks Title Matches First")
+    void testSearch() {
+        Todo inDescription = todoService.createTodo(1, userId, "Call the bank", "Ask about the invoice",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+        Todo inTitle = todoService.createTodo(2, userId, "Pay invoices", "Before Friday",
+            LocalDate.now().plusDays(2), Priority.HIGH, Tags.Work);
+        todoService.createTodo(3, userId, "Water plants", "Kitchen",
+            LocalDate.now().plusDays(3), Priority.LOW, Tags.Home);
+        int otherUserId = userService.registerUser("searchOther", TEST_PASSWORD).getUserid();
+        todoService.createTodo(1, otherUserId, "Invoice", "Not mine",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+
+        List<Todo> found = todoService.search(userId, "invoice", 10);
+        assertEquals(List.of(inTitle.getId(), inDescription.getId()), found.stream().map(Todo::getId).toList());
+
+        assertEquals(1, todoService.search(userId, "invoice", 1).size());
+        assertEquals(List.of(inDescription.getId()),
+            todoService.search(userId, "invoice -pay", 10).stream().map(Todo::getId).toList());
+        assertTrue(todoService.search(userId, "groceries", 10).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> todoService.search(userId, " ", 10));
+        assertThrows(IllegalArgumentException.class, () -> todoService.search(userId, "invoice", 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> todoService.search(userId, "invoice", TodoService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Substring Lookup Puts Title Prefixes First")
+    void testFindMatching() {
+        Todo inDescription = todoService.createTodo(1, userId, "Call the bank", "Ask about the INVOICE",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+        Todo inTitle = todoService.createTodo(2, userId, "Pay invoices", "Before Friday",
+            LocalDate.now().plusDays(2), Priority.HIGH, Tags.Work);
+        Todo prefix = todoService.createTodo(3, userId, "Invoice run", "Monthly",
+            LocalDate.now().plusDays(3), Priority.LOW, Tags.Work);
+        Todo percent = todoService.createTodo(4, userId, "Pay 50% now", "Deposit",
+            LocalDate.now().plusDays(4), Priority.LOW, Tags.Home);
+
+        List<Todo> found = todoService.findMatching(userId, "invoic", 10, null);
+        assertEquals(List.of(prefix.getId(), inDescription.getId(), inTitle.getId()),
+            found.stream().map(Todo::getId).toList());
+        assertEquals(1, todoService.findMatching(userId, "voic", 1, null).size());
+
+        assertEquals(List.of(percent.getId()),
+            todoService.findMatching(userId, "50%", 10, null).stream().map(Todo::getId).toList());
+        assertTrue(todoService.findMatching(userId, "a_k", 10, null).isEmpty());
+
+        QueryCancellation cancelled = new QueryCancellation();
+        cancelled.cancel();
+        assertThrows(CancellationException.class, () -> todoService.findMatching(userId, "invoice", 10, cancelled));
+
+        assertThrows(IllegalArgumentException.class, () -> todoService.findMatching(userId, "", 10, null));
+        assertThrows(IllegalArgumentException.class,
+            () -> todoService.findMatching(userId, "invoice", TodoService.MAX_PAGE_SIZE + 1, null));
+    }
+}
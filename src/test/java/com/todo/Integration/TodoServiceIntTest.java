@@ -4,6 +4,13 @@ import com.todo.model.Priority;
 import com.todo.model.Status;
 import com.todo.model.Tags;
 import com.todo.model.Todo;
+import com.todo.model.TodoDraft;
+import com.todo.model.TodoPage;
+import com.todo.model.TodoQuery;
+import com.todo.model.TodoStats;
+import com.todo.model.TodoUpdateResult;
+import com.todo.service.AsyncTodoService;
+import com.todo.service.TodoCache;
 import com.todo.service.TodoService;
 import com.todo.service.UserService;
 import com.todo.config.DatabaseConfig;
@@ -11,11 +18,18 @@ import com.todo.config.DatabaseConfig;
 import org.junit.jupiter.api.*;
 
 import java.time.LocalDate;
+import java.util.HashSet;
 import java.util.List;
 import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.sql.Connection;
 import java.sql.Date;
@@ -31,41 +45,23 @@ class TodoServiceIntTest {
     private UserService userService;
     private int userId = 1;
     private static final String TEST_USERNAME = "testuser";
-    private static final String TEST_PASSWORD = "testpass";
+    private static final String TEST_PASSWORD = IntTestDatabase.TEST_PASSWORD;
+
+    // Overridden to run the same tests against a differently configured service
+    TodoService newTodoService() {
+        return new TodoService();
+    }
 
     @BeforeEach
     void setUp() {
-        todoService = new TodoService();
+        todoService = newTodoService();
         userService = new UserService();
-        setupTestDatabase();
+        userId = IntTestDatabase.resetWithUser(userService, TEST_USERNAME);
     }
 
     @AfterEach
     void tearDown() {
-        cleanupTestDatabase();
-    }
-
-    private void setupTestDatabase() {
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement()) {
-
-            stmt.execute("DELETE FROM todos");
-            stmt.execute("DELETE FROM users CASCADE");
-
-            var user = userService.registerUser(TEST_USERNAME, TEST_PASSWORD);
-            userId = user.getUserid();
-        } catch (Exception e) {
-            fail("Database setup failed: " + e.getMessage());
-        }
-    }
-
-    private void cleanupTestDatabase() {
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute("DELETE FROM todos");
-        } catch (Exception e) {
-            fail("Database cleanup failed: " + e.getMessage());
-        }
+        IntTestDatabase.deleteTodos();
     }
 
     @Test
@@ -87,7 +83,7 @@ class TodoServiceIntTest {
         assertEquals(Tags.Work, retrievedTodo.getTags());
         assertEquals(Priority.MEDIUM, retrievedTodo.getPriority());
 
-        var newTodoService = new TodoService();
+        var newTodoService = newTodoService();
         var persistedTodo = newTodoService.getTodoById(createdTodo.getId());
         assertNotNull(persistedTodo);
         assertEquals("Task 1", persistedTodo.getTitle());
@@ -141,7 +137,7 @@ class TodoServiceIntTest {
         boolean deleted = todoService.deleteTodoById(todo.getId());
         assertTrue(deleted);
 
-        var newTodoService = new TodoService();
+        var newTodoService = newTodoService();
         var deletedTodo = newTodoService.getTodoById(todo.getId());
         assertNull(deletedTodo);
     }
@@ -169,7 +165,7 @@ class TodoServiceIntTest {
             Tags.Urgent
         );
 
-        var newTodoService = new TodoService();
+        var newTodoService = newTodoService();
         var allTodos = newTodoService.getTodosByUserId(userId);
         assertEquals(2, allTodos.size());
         assertTrue(allTodos.stream().anyMatch(t -> t.getTitle().equals("Task 1")));
@@ -364,26 +360,28 @@ class TodoServiceIntTest {
         Todo todo = todoService.createTodo(1, userId, "Test", "Desc", 
             LocalDate.now(), Priority.LOW, Tags.Work);
         
+        // Renamed away rather than dropped, so its indexes, triggers and constraints come back
+        // for the tests that run after this one
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement()) {
-            stmt.execute("DROP TABLE todos");
+            stmt.execute("ALTER TABLE todos RENAME TO todos_hidden");
         } catch (SQLException e) {
-            fail("Failed to drop table: " + e.getMessage());
+            fail("Failed to hide table: " + e.getMessage());
         }
         
-        assertThrows(RuntimeException.class, () -> todoService.getTodoById(todo.getId()));
-        
-        assertThrows(RuntimeException.class, () -> todoService.deleteTodoById(todo.getId()));
-        
-        assertThrows(RuntimeException.class, () -> todoService.getTodosByUserId(userId));
-        
-        try (Connection conn = DatabaseConfig.getConnection();
-             Statement stmt = conn.createStatement()) {
-            stmt.execute("CREATE TABLE todos (id SERIAL PRIMARY KEY, user_specific_id INT, " +
-                    "user_id INT, title VARCHAR(255), description TEXT, due_date DATE, " +
-                    "priority VARCHAR(50), tag VARCHAR(50), completed BOOLEAN, status VARCHAR(50))");
-        } catch (SQLException e) {
-            fail("Failed to recreate table: " + e.getMessage());
+        try {
+            assertThrows(RuntimeException.class, () -> todoService.getTodoById(todo.getId()));
+            
+            assertThrows(RuntimeException.class, () -> todoService.deleteTodoById(todo.getId()));
+            
+            assertThrows(RuntimeException.class, () -> todoService.getTodosByUserId(userId));
+        } finally {
+            try (Connection conn = DatabaseConfig.getConnection();
+                 Statement stmt = conn.createStatement()) {
+                stmt.execute("ALTER TABLE todos_hidden RENAME TO todos");
+            } catch (SQLException e) {
+                fail("Failed to restore table: " + e.getMessage());
+            }
         }
     }
     
@@ -434,7 +432,7 @@ class TodoServiceIntTest {
         
         assertEquals(10, todo1.getUserSpecificId());
         
-        TodoService newTodoService = new TodoService();
+        TodoService newTodoService = newTodoService();
         newTodoService.setNextUserSpecificId(20);
         
         Todo todo2 = newTodoService.createTodo(
@@ -451,41 +449,23 @@ class TodoServiceIntTest {
     }
     
     @Test
-    @DisplayName("Handle Invalid/Null DB Values")
+    @DisplayName("Handle Unknown DB Codes")
     void testInvalidDatabaseValues() throws SQLException {
+        // The code columns are NOT NULL, so unknown codes are the only bad values they can hold
         try (Connection conn = DatabaseConfig.getConnection();
              Statement stmt = conn.createStatement()) {
-            
-        	stmt.executeUpdate("INSERT INTO todos (id, user_id, title, description, due_date, priority, tag, completed, status) " +
-        	        "VALUES (998, " + userId + ", 'Invalid Values', 'Description', CURRENT_DATE, 'INVALID', 'INVALID', false, 'INVALID')");
-        	
-            try (PreparedStatement ps = conn.prepareStatement(
-                    "INSERT INTO todos (id, user_id, title, description, due_date, priority, tag, completed) " +
-                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)")) {
-            	
-                ps.setInt(1, 999);
-                ps.setInt(2, userId);
-                ps.setString(3, "Null Fields");
-                ps.setString(4, "Description");
-                ps.setDate(5, Date.valueOf(LocalDate.now()));
-                ps.setNull(6, java.sql.Types.VARCHAR);
-                ps.setNull(7, java.sql.Types.VARCHAR);
-                ps.setBoolean(8, false);
-                ps.executeUpdate();
-            }
+            stmt.executeUpdate("INSERT INTO todos (id, user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+                    "VALUES (998, 998, " + userId + ", 'Unknown Codes', 'Description', CURRENT_DATE, 99, 99, 99), " +
+                    "(999, 999, " + userId + ", 'Negative Codes', 'Description', CURRENT_DATE, -1, -1, -1)");
         }
         
-        Todo invalidValuesTodo = todoService.getTodoById(998);
-        assertNotNull(invalidValuesTodo);
-        assertEquals(Priority.MEDIUM, invalidValuesTodo.getPriority());
-        assertEquals(Tags.Work, invalidValuesTodo.getTags());
-        assertEquals(Status.PENDING, invalidValuesTodo.getStatus()); 
-        
-        Todo nullFieldsTodo = todoService.getTodoById(999);
-        assertNotNull(nullFieldsTodo);
-        assertEquals(Priority.MEDIUM, nullFieldsTodo.getPriority()); 
-        assertEquals(Tags.Work, nullFieldsTodo.getTags()); 
-        assertEquals(Status.PENDING, nullFieldsTodo.getStatus()); 
+        for (int id : List.of(998, 999)) {
+            Todo todo = todoService.getTodoById(id);
+            assertNotNull(todo);
+            assertEquals(Priority.MEDIUM, todo.getPriority());
+            assertEquals(Tags.Work, todo.getTags());
+            assertEquals(Status.PENDING, todo.getStatus());
+        }
     }
 
     @Test
@@ -709,48 +689,444 @@ class TodoServiceIntTest {
     }
     
     @Test
-    @DisplayName("Test Todo Mapping Without Status Column")
-    void testTodoMappingWithoutStatusColumn() throws SQLException {
-        Todo originalTodo = todoService.createTodo(
-            1, userId, "Missing Status Test", "Description",
-            LocalDate.now(), Priority.MEDIUM, Tags.Work
+    @DisplayName("Batch Create Todos Returns IDs In Order")
+    void testCreateTodosBatch() {
+        List<TodoDraft> drafts = List.of(
+            new TodoDraft(1, "Batch 1", "Description 1", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work),
+            new TodoDraft(2, "Batch 2", "Description 2", LocalDate.now().plusDays(2), Priority.MEDIUM, Tags.Home),
+            new TodoDraft(3, "Batch 3", "Description 3", LocalDate.now().plusDays(3), Priority.HIGH, Tags.Urgent)
         );
 
-        try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement ps = conn.prepareStatement(
-                 "SELECT id, user_id, title, description, due_date, priority, tag, completed FROM todos WHERE id = ?")) {
-            
-            ps.setInt(1, originalTodo.getId());
+        List<Integer> ids = todoService.createTodos(userId, drafts);
 
-            try (ResultSet rs = ps.executeQuery()) {
-                assertTrue(rs.next(), "ResultSet should have a row");
-
-                Todo mappedTodo = todoService.testMapResultSetToTodo(rs);
-                assertEquals(originalTodo.isCompleted() ? Status.COMPLETED : Status.PENDING, mappedTodo.getStatus());
-            }
+        assertEquals(3, ids.size());
+        for (int i = 0; i < drafts.size(); i++) {
+            Todo todo = todoService.getTodoById(ids.get(i));
+            assertNotNull(todo);
+            assertEquals(drafts.get(i).title(), todo.getTitle());
+            assertEquals(drafts.get(i).userSpecificId(), todo.getUserSpecificId());
+            assertEquals(Status.PENDING, todo.getStatus());
         }
+        assertTrue(todoService.createTodos(userId, List.of()).isEmpty());
     }
-    
+
     @Test
-    @DisplayName("Test Todo Mapping Without Completed Column")
-    void testTodoMappingWithoutCompletedColumn() throws SQLException {
-        Todo originalTodo = todoService.createTodo(
-            1, userId, "Missing Completed", "Description",
-            LocalDate.now(), Priority.MEDIUM, Tags.Work
+    @DisplayName("Batch Create Todos Inserts Nothing For Invalid Input")
+    void testCreateTodosRollback() {
+        List<TodoDraft> drafts = List.of(
+            new TodoDraft(1, "Batch 1", "Description 1", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work)
         );
+        assertThrows(RuntimeException.class, () -> todoService.createTodos(-1, drafts));
 
+        List<TodoDraft> withInvalidDraft = List.of(
+            new TodoDraft(1, "Batch 1", "Description 1", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work),
+            new TodoDraft(2, "Batch 2", " ", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work)
+        );
+        assertThrows(IllegalArgumentException.class, () -> todoService.createTodos(userId, withInvalidDraft));
+        assertTrue(todoService.getTodosByUserId(userId).isEmpty());
+
+        assertThrows(IllegalArgumentException.class, () -> todoService.createTodos(userId, null));
+    }
+
+    @Test
+    @DisplayName("Keyset Pagination Walks All Todos In Due Date Order")
+    void testGetTodosPage() {
+        todoService.createTodo(1, userId, "Third", "Description", LocalDate.now().plusDays(3), Priority.LOW, Tags.Work);
+        todoService.createTodo(2, userId, "First", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+        todoService.createTodo(3, userId, "Second", "Description", LocalDate.now().plusDays(2), Priority.LOW, Tags.Work);
+
+        TodoPage firstPage = todoService.getTodosPage(userId, null, 2);
+        assertEquals(List.of("First", "Second"), firstPage.todos().stream().map(Todo::getTitle).toList());
+        assertTrue(firstPage.hasMore());
+
+        TodoPage secondPage = todoService.getTodosPage(userId, firstPage.nextCursor(), 2);
+        assertEquals(List.of("Third"), secondPage.todos().stream().map(Todo::getTitle).toList());
+        assertFalse(secondPage.hasMore());
+        assertNull(secondPage.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Keyset Pagination Rejects Invalid Arguments")
+    void testGetTodosPageInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> todoService.getTodosPage(userId, null, 0));
+        assertThrows(IllegalArgumentException.class,
+            () -> todoService.getTodosPage(userId, null, TodoService.MAX_PAGE_SIZE + 1));
+        assertThrows(IllegalArgumentException.class, () -> todoService.getTodosPage(userId, "not-a-cursor", 10));
+    }
+
+    @Test
+    @DisplayName("Row Decoder Falls Back For Unknown Enum Codes")
+    void testRowDecoderFallbacks() throws SQLException {
         try (Connection conn = DatabaseConfig.getConnection();
-             PreparedStatement ps = conn.prepareStatement(
-                 "SELECT id, user_id, title, description, due_date, priority, tag FROM todos WHERE id = ?")) {
-            
-            ps.setInt(1, originalTodo.getId());
+             Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO todos (id, user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+                "VALUES (997, 7, " + userId + ", 'Unknown Values', 'Description', CURRENT_DATE, 7, 9, 5)");
+        }
 
-            try (ResultSet rs = ps.executeQuery()) {
-                assertTrue(rs.next(), "ResultSet should have a row");
+        Todo todo = todoService.getTodoById(997);
+        assertNotNull(todo);
+        assertEquals(7, todo.getUserSpecificId());
+        assertEquals(Priority.MEDIUM, todo.getPriority());
+        assertEquals(Tags.Work, todo.getTags());
+        assertFalse(todo.isCompleted());
+        assertEquals(Status.PENDING, todo.getStatus());
+    }
 
-                Todo mappedTodo = todoService.testMapResultSetToTodo(rs);
-                assertFalse(mappedTodo.isCompleted(), "Todo should default to not completed");
-            }
+    @Test
+    @DisplayName("Cached Reads Stay In Step With Writes")
+    void testCachedReadsWriteThrough() {
+        TodoService cachedService = new TodoService(new TodoCache(100));
+        Todo todo = cachedService.createTodo(1, userId, "Cached", "Description",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+
+        assertEquals(1, cachedService.getTodosByUserId(userId).size());
+        assertEquals(1, cachedService.getTodosByUserId(userId).size());
+        assertEquals(1, cachedService.getCacheStats().hits());
+
+        cachedService.updateTodo(todo.getId(), userId, "Cached Updated", "Description",
+            LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work, true);
+        assertEquals("Cached Updated", cachedService.getTodosByUserId(userId).get(0).getTitle());
+        assertTrue(cachedService.getTodoById(todo.getId()).isCompleted());
+
+        cachedService.createTodo(2, userId, "Second", "Description",
+            LocalDate.now().plusDays(2), Priority.LOW, Tags.Home);
+        assertEquals(2, cachedService.getTodosPage(userId, null, 10).todos().size());
+
+        assertTrue(cachedService.deleteTodoById(todo.getId()));
+        assertNull(cachedService.getTodoById(todo.getId()));
+        assertEquals(1, cachedService.getTodosByUserId(userId).size());
+        assertEquals(1, cachedService.getTodosPage(userId, null, 10).todos().size());
+    }
+
+    @Test
+    @DisplayName("Server-Side Query Filters, Sorts And Limits")
+    void testFindTodos() {
+        Todo high = todoService.createTodo(1, userId, "High Work", "Description",
+            LocalDate.now().plusDays(5), Priority.HIGH, Tags.Work);
+        todoService.createTodo(2, userId, "Low Home", "Description",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Home);
+        Todo medium = todoService.createTodo(3, userId, "Medium Work", "Description",
+            LocalDate.now().plusDays(3), Priority.MEDIUM, Tags.Work);
+        todoService.updateTodo(medium.getId(), userId, medium.getTitle(), medium.getDescription(),
+            medium.getDueDate(), medium.getPriority(), medium.getTags(), true);
+
+        List<Todo> work = todoService.findTodos(new TodoQuery(userId).withTags(Tags.Work).sortBy(TodoQuery.Sort.PRIORITY));
+        assertEquals(List.of("High Work", "Medium Work"), work.stream().map(Todo::getTitle).toList());
+
+        List<Todo> pending = todoService.findTodos(new TodoQuery(userId).withStatus(Status.PENDING));
+        assertEquals(List.of("Low Home", "High Work"), pending.stream().map(Todo::getTitle).toList());
+
+        List<Todo> dueSoon = todoService.findTodos(new TodoQuery(userId)
+            .withPriorities(Priority.HIGH, Priority.LOW)
+            .dueBetween(LocalDate.now(), LocalDate.now().plusDays(2)));
+        assertEquals(List.of("Low Home"), dueSoon.stream().map(Todo::getTitle).toList());
+
+        List<Todo> latest = todoService.findTodos(new TodoQuery(userId).sortBy(TodoQuery.Sort.DUE_DATE_DESC).limit(1));
+        assertEquals(high.getId(), latest.get(0).getId());
+        assertEquals(1, latest.size());
+    }
+
+    @Test
+    @DisplayName("Server-Side Query Rejects Invalid Criteria")
+    void testFindTodosInvalidCriteria() {
+        assertThrows(IllegalArgumentException.class, () -> todoService.findTodos(null));
+        assertThrows(IllegalArgumentException.class, () -> new TodoQuery(userId).limit(0));
+        assertThrows(IllegalArgumentException.class,
+            () -> new TodoQuery(userId).dueBetween(LocalDate.now().plusDays(1), LocalDate.now()));
+        assertThrows(IllegalArgumentException.class,
+            () -> todoService.findTodos(new TodoQuery(userId).limit(TodoService.MAX_PAGE_SIZE + 1)));
+    }
+
+    @Test
+    @DisplayName("Stats Count By Priority, Tag, Status And Due Date")
+    void testGetStats() throws SQLException {
+        Todo overdue = todoService.createTodo(1, userId, "Overdue", "Description",
+            LocalDate.now(), Priority.HIGH, Tags.Work);
+        todoService.createTodo(2, userId, "Today", "Description",
+            LocalDate.now(), Priority.HIGH, Tags.Home);
+        todoService.createTodo(3, userId, "Next Week", "Description",
+            LocalDate.now().plusDays(7), Priority.LOW, Tags.Work);
+        Todo done = todoService.createTodo(4, userId, "Done", "Description",
+            LocalDate.now(), Priority.MEDIUM, Tags.Urgent);
+        todoService.markCompleted(done.getId(), userId);
+        // Todos cannot be created overdue, so age two of them
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement("UPDATE todos SET due_date = ? WHERE id IN (?, ?)")) {
+            ps.setDate(1, Date.valueOf(LocalDate.now().minusDays(2)));
+            ps.setInt(2, overdue.getId());
+            ps.setInt(3, done.getId());
+            ps.executeUpdate();
         }
+
+        TodoStats stats = todoService.getStats(userId);
+        assertEquals(4, stats.total());
+        assertEquals(2, stats.count(Priority.HIGH));
+        assertEquals(1, stats.count(Priority.MEDIUM));
+        assertEquals(1, stats.count(Priority.LOW));
+        assertEquals(2, stats.count(Tags.Work));
+        assertEquals(1, stats.count(Tags.Urgent));
+        assertEquals(3, stats.count(Status.PENDING));
+        assertEquals(1, stats.count(Status.COMPLETED));
+        assertEquals(1, stats.overdue());
+        assertEquals(1, stats.dueThisWeek());
+
+        TodoStats empty = todoService.getStats(userId + 1000);
+        assertEquals(0, empty.total());
+        assertEquals(0, empty.count(Status.PENDING));
+    }
+
+    @Test
+    @DisplayName("Async Timeout Cancels The Running Query On The Server")
+    void testAsyncTimeoutCancelsQuery() throws Exception {
+        BlockingQueue<String> sqlStates = new LinkedBlockingQueue<>();
+        try (AsyncTodoService async = new AsyncTodoService(todoService, new UserService(), 1, 500)) {
+            CompletableFuture<Object> slow = async.supply(() -> {
+                try (Connection conn = DatabaseConfig.getConnection();
+                     Statement stmt = conn.createStatement()) {
+                    stmt.execute("SELECT pg_sleep(30)");
+                    sqlStates.add("none");
+                } catch (SQLException e) {
+                    sqlStates.add(e.getSQLState());
+                }
+                return null;
+            });
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            // The query timeout is whole seconds, so the server gives up after one
+            assertEquals("57014", sqlStates.poll(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Create Todo For Unknown User Reports Invalid User ID")
+    void testCreateTodoUnknownUser() {
+        int unknownUserId = userId + 1000;
+        RuntimeException e = assertThrows(RuntimeException.class, () -> todoService.createTodo(
+            1, unknownUserId, "Orphan", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work));
+        assertEquals("Database error: Invalid user ID: " + unknownUserId, e.getMessage());
+        assertTrue(todoService.getTodosByUserId(unknownUserId).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Zero User Specific ID Is Allocated From The Database Counter")
+    void testAllocatedUserSpecificIds() throws InterruptedException {
+        int numThreads = 8;
+        CountDownLatch latch = new CountDownLatch(numThreads);
+        Set<Integer> specificIds = ConcurrentHashMap.newKeySet();
+
+        for (int i = 0; i < numThreads; i++) {
+            final int index = i;
+            new Thread(() -> {
+                try {
+                    Todo todo = todoService.createTodo(0, userId, "Allocated " + index, "Description",
+                        LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+                    specificIds.add(todo.getUserSpecificId());
+                } finally {
+                    latch.countDown();
+                }
+            }).start();
+        }
+        assertTrue(latch.await(10, TimeUnit.SECONDS));
+        assertEquals(numThreads, specificIds.size());
+
+        List<Integer> batchIds = todoService.createTodos(userId, List.of(
+            new TodoDraft(0, "Batch 1", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work),
+            new TodoDraft(0, "Batch 2", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work)));
+        int first = todoService.getTodoById(batchIds.get(0)).getUserSpecificId();
+        assertEquals(first + 1, todoService.getTodoById(batchIds.get(1)).getUserSpecificId());
+        assertFalse(specificIds.contains(first));
+        assertFalse(specificIds.contains(first + 1));
+    }
+
+    @Test
+    @DisplayName("Duplicate Explicit User Specific ID Is Rejected")
+    void testDuplicateUserSpecificIdRejected() {
+        todoService.createTodo(5, userId, "First", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+
+        assertThrows(RuntimeException.class, () -> todoService.createTodo(
+            5, userId, "Second", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work));
+        assertEquals(1, todoService.getTodosByUserId(userId).size());
+    }
+
+    @Test
+    @DisplayName("Explicit And Allocated User Specific IDs Never Collide")
+    void testMixedUserSpecificIds() {
+        LocalDate due = LocalDate.now().plusDays(1);
+        for (int specificId = 1; specificId <= 3; specificId++) {
+            todoService.createTodo(specificId, userId, "Explicit " + specificId, "Description", due, Priority.LOW, Tags.Work);
+        }
+        Todo allocated = todoService.createTodo(0, userId, "Allocated", "Description", due, Priority.LOW, Tags.Work);
+        assertEquals(4, allocated.getUserSpecificId());
+
+        // The allocator now holds a block from 4 on, so ids inside it cannot be claimed...
+        RuntimeException e = assertThrows(RuntimeException.class, () -> todoService.createTodo(
+            6, userId, "In block", "Description", due, Priority.LOW, Tags.Work));
+        assertEquals("Database error: User specific ID 6 is already taken", e.getMessage());
+        assertThrows(RuntimeException.class, () -> todoService.createTodos(userId, List.of(
+            new TodoDraft(0, "Batch", "Description", due, Priority.LOW, Tags.Work),
+            new TodoDraft(7, "In block", "Description", due, Priority.LOW, Tags.Work))));
+
+        // ...but ids past the reserved blocks can, and the counter moves past them
+        Todo far = todoService.createTodo(100, userId, "Far", "Description", due, Priority.LOW, Tags.Work);
+        assertEquals(100, far.getUserSpecificId());
+        List<Integer> ids = todoService.createTodos(userId, List.of(
+            new TodoDraft(0, "Batch 1", "Description", due, Priority.LOW, Tags.Work),
+            new TodoDraft(200, "Batch 2", "Description", due, Priority.LOW, Tags.Work)));
+        assertTrue(todoService.getTodoById(ids.get(0)).getUserSpecificId() > 200);
+        assertEquals(200, todoService.getTodoById(ids.get(1)).getUserSpecificId());
+        for (int i = 0; i < 30; i++) {
+            todoService.createTodo(0, userId, "Allocated " + i, "Description", due, Priority.LOW, Tags.Work);
+        }
+
+        Set<Integer> specificIds = new HashSet<>();
+        for (Todo todo : todoService.getTodosByUserId(userId)) {
+            assertTrue(specificIds.add(todo.getUserSpecificId()), "Duplicate id " + todo.getUserSpecificId());
+        }
+        assertEquals(37, specificIds.size());
+    }
+
+    @Test
+    @DisplayName("Allocating For Unknown User Reports Invalid User ID")
+    void testAllocateForUnknownUser() {
+        int unknownUserId = userId + 1000;
+        RuntimeException e = assertThrows(RuntimeException.class, () -> todoService.createTodo(
+            0, unknownUserId, "Orphan", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work));
+        assertEquals("Database error: Invalid user ID: " + unknownUserId, e.getMessage());
+    }
+
+    @Test
+    @DisplayName("Single-Column Mutations Return The Updated Row")
+    void testSingleColumnMutations() {
+        Todo todo = todoService.createTodo(1, userId, "Narrow", "Description",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+
+        Todo completed = todoService.markCompleted(todo.getId(), userId);
+        assertTrue(completed.isCompleted());
+        assertEquals(Status.COMPLETED, completed.getStatus());
+        assertEquals("Narrow", completed.getTitle());
+
+        assertEquals(Priority.HIGH, todoService.setPriority(todo.getId(), userId, Priority.HIGH).getPriority());
+        assertEquals(Tags.Home, todoService.setTag(todo.getId(), userId, Tags.Home).getTags());
+        LocalDate later = LocalDate.now().plusDays(7);
+        assertEquals(later, todoService.setDueDate(todo.getId(), userId, later).getDueDate());
+
+        Todo stored = todoService.getTodoById(todo.getId());
+        assertTrue(stored.isCompleted());
+        assertEquals(Priority.HIGH, stored.getPriority());
+        assertEquals(Tags.Home, stored.getTags());
+        assertEquals(later, stored.getDueDate());
+        assertEquals(1, stored.getUserSpecificId());
+    }
+
+    @Test
+    @DisplayName("Single-Column Mutations Reject Other Users And Null Values")
+    void testSingleColumnMutationsInvalid() {
+        Todo todo = todoService.createTodo(1, userId, "Narrow", "Description",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+
+        assertThrows(NoSuchElementException.class, () -> todoService.markCompleted(todo.getId(), userId + 1));
+        assertThrows(NoSuchElementException.class, () -> todoService.setPriority(999999, userId, Priority.HIGH));
+        assertThrows(IllegalArgumentException.class, () -> todoService.setPriority(todo.getId(), userId, null));
+        assertThrows(IllegalArgumentException.class, () -> todoService.setTag(todo.getId(), userId, null));
+        assertThrows(IllegalArgumentException.class, () -> todoService.setDueDate(todo.getId(), userId, null));
+        assertFalse(todoService.getTodoById(todo.getId()).isCompleted());
+    }
+
+    @Test
+    @DisplayName("Bulk Operations Only Touch The Owner's Listed Todos")
+    void testBulkOperations() {
+        int otherUserId = userService.registerUser("bulkother", TEST_PASSWORD).getUserid();
+        List<Integer> ids = todoService.createTodos(userId, List.of(
+            new TodoDraft(1, "Bulk 1", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work),
+            new TodoDraft(2, "Bulk 2", "Description", LocalDate.now().plusDays(2), Priority.LOW, Tags.Work),
+            new TodoDraft(3, "Bulk 3", "Description", LocalDate.now().plusDays(3), Priority.LOW, Tags.Home)));
+        Todo foreign = todoService.createTodo(1, otherUserId, "Foreign", "Description",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+
+        assertEquals(0, todoService.completeAll(List.of(), userId));
+        assertEquals(2, todoService.completeAll(List.of(ids.get(0), ids.get(1), foreign.getId()), userId));
+        assertFalse(todoService.getTodoById(foreign.getId()).isCompleted());
+        assertEquals(Status.COMPLETED, todoService.getTodoById(ids.get(1)).getStatus());
+
+        assertEquals(3, todoService.setPriorityForAll(ids, userId, Priority.HIGH));
+        assertTrue(todoService.getTodosByUserId(userId).stream().allMatch(t -> t.getPriority() == Priority.HIGH));
+
+        assertEquals(2, todoService.deleteCompleted(userId));
+        assertEquals(List.of(ids.get(2)), todoService.getTodosByUserId(userId).stream().map(Todo::getId).toList());
+
+        assertEquals(1, todoService.deleteAll(List.of(ids.get(2), foreign.getId()), userId));
+        assertTrue(todoService.getTodosByUserId(userId).isEmpty());
+        assertNotNull(todoService.getTodoById(foreign.getId()));
+
+        assertThrows(IllegalArgumentException.class, () -> todoService.deleteAll(null, userId));
+        assertThrows(IllegalArgumentException.class, () -> todoService.setPriorityForAll(ids, userId, null));
+    }
+
+    @Test
+    @DisplayName("Count And Offset Slices Follow Due Date Order")
+    void testCountAndSlices() {
+        for (int i = 1; i <= 5; i++) {
+            todoService.createTodo(i, userId, "Slice " + i, "Description",
+                LocalDate.now().plusDays(6 - i), Priority.LOW, Tags.Work);
+        }
+
+        assertEquals(5, todoService.countTodos(userId));
+        assertEquals(0, todoService.countTodos(userId + 1000));
+        assertEquals(List.of("Slice 4", "Slice 3"),
+            todoService.getTodosSlice(userId, 1, 2).stream().map(Todo::getTitle).toList());
+        assertEquals(List.of("Slice 1"),
+            todoService.getTodosSlice(userId, 4, 10).stream().map(Todo::getTitle).toList());
+        assertTrue(todoService.getTodosSlice(userId, 5, 10).isEmpty());
+        // Seeking past the last row of a slice continues where the next slice starts
+        Todo lastOfSlice = todoService.getTodosSlice(userId, 0, 2).get(1);
+        assertEquals(todoService.getTodosSlice(userId, 2, 2).stream().map(Todo::getId).toList(),
+            todoService.getTodosPage(userId, TodoService.cursorAfter(lastOfSlice), 2).todos().stream().map(Todo::getId).toList());
+        assertThrows(IllegalArgumentException.class, () -> todoService.getTodosSlice(userId, -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> todoService.getTodosSlice(userId, 0, TodoService.MAX_PAGE_SIZE + 1));
+    }
+
+    @Test
+    @DisplayName("Todos Are Read By Id For Their Owner Only")
+    void testGetTodosByIds() {
+        Todo later = todoService.createTodo(0, userId, "Later", "Description", LocalDate.now().plusDays(2), Priority.LOW, Tags.Work);
+        Todo sooner = todoService.createTodo(0, userId, "Sooner", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+        int otherUserId = userService.registerUser("byidsuser", "pass").getUserid();
+        Todo other = todoService.createTodo(0, otherUserId, "Other", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+
+        List<Todo> todos = todoService.getTodosByIds(userId, List.of(later.getId(), sooner.getId(), other.getId(), -1));
+
+        assertEquals(List.of("Sooner", "Later"), todos.stream().map(Todo::getTitle).toList());
+        assertTrue(todoService.getTodosByIds(userId, List.of()).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> todoService.getTodosByIds(userId, null));
+    }
+
+    @Test
+    @DisplayName("Conditional Update Applies Only To The Version It Read")
+    void testUpdateTodoIfVersion() {
+        Todo todo = todoService.createTodo(0, userId, "Versioned", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+        assertEquals(0, todo.getVersion());
+
+        TodoUpdateResult first = todoService.updateTodoIfVersion(todo.getId(), userId, 0, "First Edit", "Description",
+            LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work, false);
+        TodoUpdateResult stale = todoService.updateTodoIfVersion(todo.getId(), userId, 0, "Second Edit", "Description",
+            LocalDate.now().plusDays(1), Priority.LOW, Tags.Work, false);
+
+        assertFalse(first.isConflict());
+        assertEquals(1, first.todo().getVersion());
+        assertTrue(stale.isConflict());
+        assertEquals("First Edit", stale.todo().getTitle());
+        assertEquals(1, stale.todo().getVersion());
+
+        TodoUpdateResult retried = todoService.updateTodoIfVersion(todo.getId(), userId, stale.todo().getVersion(), "Second Edit",
+            "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work, false);
+        assertFalse(retried.isConflict());
+        assertEquals("Second Edit", todoService.getTodoById(todo.getId()).getTitle());
+
+        // Every writer bumps the version, not just conditional updates
+        todoService.markCompleted(todo.getId(), userId);
+        assertEquals(3, todoService.getTodoById(todo.getId()).getVersion());
+        assertThrows(NoSuchElementException.class, () -> todoService.updateTodoIfVersion(todo.getId(), userId + 1000, 3,
+            "Other", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work, false));
     }
-}
\ No newline at end of file
+}
@@ -14,6 +14,7 @@ import java.time.format.DateTimeFormatter;
 
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 
 
@@ -59,7 +60,7 @@ class TodoUIIntTest
                 initializeComponents();
                 todoUI.setVisible(true);
             });
-            Thread.sleep(1000);
+            waitForBackgroundWork();
         } catch (Exception e) {
             fail("Setup failed: " + e.getMessage());
         }
@@ -103,6 +104,21 @@ class TodoUIIntTest
         field.setAccessible(true);
         return field.get(todoUI);
     }
+
+    // The busy indicator shows until the last background task has delivered its result
+    private void waitForBackgroundWork() throws Exception {
+        JProgressBar busyIndicator = (JProgressBar) getPrivateField("busyIndicator");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        AtomicBoolean busy = new AtomicBoolean(true);
+        while (true) {
+            SwingUtilities.invokeAndWait(() -> busy.set(busyIndicator.isVisible()));
+            if (!busy.get()) {
+                return;
+            }
+            assertTrue(System.nanoTime() < deadline, "Background work did not finish");
+            Thread.sleep(10);
+        }
+    }
     
     
     void testFullTodoCycle() {
@@ -116,10 +132,10 @@ class TodoUIIntTest
             });
 
             
-            Thread.sleep(500);
+            waitForBackgroundWork();
 
             SwingUtilities.invokeAndWait(() -> addButton.doClick());
-            Thread.sleep(1000); 
+            waitForBackgroundWork();
 
             SwingUtilities.invokeAndWait(() -> {
                 assertTrue(todoTable.getRowCount() > 0, "Todo should be added");
@@ -140,7 +156,7 @@ class TodoUIIntTest
             addTestTodo("Second Todo", "Description 2", Priority.MEDIUM, Tags.Home);
             addTestTodo("Third Todo", "Description 3", Priority.LOW, Tags.Urgent);
             
-            Thread.sleep(500);
+            waitForBackgroundWork();
             
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals(3, todoTable.getRowCount(), "All todos should be added");
@@ -150,7 +166,7 @@ class TodoUIIntTest
                 findAndClickButton("Apply Filter");
             });
             
-            Thread.sleep(500);
+            waitForBackgroundWork();
             
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals(1, todoTable.getRowCount(), "Filter should show only HIGH priority todos");
@@ -159,7 +175,7 @@ class TodoUIIntTest
                 findAndClickButton("Clear Filter");
             });
             
-            Thread.sleep(500);
+            waitForBackgroundWork();
             
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals(3, todoTable.getRowCount(), "All todos should be visible after clearing filter");
@@ -183,7 +199,7 @@ class TodoUIIntTest
                 addButton.doClick();
             });
 
-            Thread.sleep(1000);
+            waitForBackgroundWork();
 
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals(1, todoTable.getRowCount(), "Todo should be added");
@@ -199,7 +215,7 @@ class TodoUIIntTest
                 updateButton.doClick();
             });
 
-            Thread.sleep(1000);
+            waitForBackgroundWork();
 
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals("Updated Title", todoTable.getValueAt(0, 1));
@@ -220,7 +236,7 @@ class TodoUIIntTest
                 dateField.setText(LocalDate.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
                 addButton.doClick();
             });
-            Thread.sleep(500);
+            waitForBackgroundWork();
             
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals(0, todoTable.getRowCount(), "Todo with empty title should not be added");
@@ -231,7 +247,7 @@ class TodoUIIntTest
                 dateField.setText("invalid-date");
                 addButton.doClick();
             });
-            Thread.sleep(500);
+            waitForBackgroundWork();
             
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals(0, todoTable.getRowCount(), "Todo with invalid date should not be added");
@@ -257,7 +273,7 @@ class TodoUIIntTest
                 assertNotNull(markCompletedButton, "Mark Completed button was not found.");
 
                 assertTrue(addButton.isEnabled(), "Add button should be enabled.");
-                assertTrue(updateButton.isEnabled(), "Update button should be enabled.");
+                assertFalse(updateButton.isEnabled(), "Update button should stay disabled until a todo is selected.");
                 assertTrue(deleteButton.isEnabled(), "Delete button should be enabled.");
                 assertTrue(markCompletedButton.isEnabled(), "Mark Completed button should be enabled.");
             });
@@ -284,7 +300,7 @@ class TodoUIIntTest
 
             assertTrue(addLatch.await(5, TimeUnit.SECONDS));
             
-            Thread.sleep(2000);
+            waitForBackgroundWork();
             
             SwingUtilities.invokeAndWait(() -> {
                 todoTable.setRowSelectionInterval(0, 0);
@@ -293,7 +309,7 @@ class TodoUIIntTest
             });
 
             assertTrue(completeLatch.await(10, TimeUnit.SECONDS), "Operation timed out");
-            Thread.sleep(1000);
+            waitForBackgroundWork();
 
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals("Completed", todoTable.getValueAt(0, 6));
@@ -306,23 +322,19 @@ class TodoUIIntTest
     @Test
     void testConcurrentTodoOperations() {
         try {
-            SwingUtilities.invokeAndWait(() -> {
-                for (int i = 0; i < 5; i++) {
-                    titleField.setText("Concurrent Todo " + i);
-                    descriptionField.setText("Description " + i);
+            for (int i = 0; i < 5; i++) {
+                int n = i;
+                SwingUtilities.invokeAndWait(() -> {
+                    titleField.setText("Concurrent Todo " + n);
+                    descriptionField.setText("Description " + n);
                     dateField.setText(LocalDate.now().plusDays(1).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
                     priorityComboBox.setSelectedItem(Priority.HIGH);
                     tagsComboBox.setSelectedItem(Tags.Work);
                     addButton.doClick();
-                    try {
-                        Thread.sleep(200);
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                }
-            });
-            
-            Thread.sleep(1000); 
+                });
+                // Add stays disabled until the previous todo is in
+                waitForBackgroundWork();
+            }
             
             SwingUtilities.invokeAndWait(() -> {
                 assertEquals(5, todoTable.getRowCount(), "All todos should be added");
@@ -366,7 +378,7 @@ class TodoUIIntTest
                 todoService.setNextUserSpecificId(1);
                 addButton.doClick();
             });
-            Thread.sleep(500);
+            waitForBackgroundWork();
         } catch (Exception e) {
             fail("Failed to add test todo: " + e.getMessage());
         }
@@ -6,6 +6,8 @@ import static org.mockito.Mockito.*;
 import java.awt.Frame;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import javax.swing.SwingUtilities;
 
@@ -59,6 +61,7 @@ public class UIIntTest {
             doReturn(new User(1,TEST_USERNAME, TEST_PASSWORD)).when(userServiceMock).registerUser(TEST_USERNAME, TEST_PASSWORD);
             ui.getRegisterButton().doClick();
         });
+        waitForBackgroundWork();
 
         SwingUtilities.invokeAndWait(() -> {
             assertTrue(ui.getUsernameField().getText().isEmpty(), "Username field should be empty after registration.");
@@ -79,6 +82,7 @@ public class UIIntTest {
             ui.getPasswordField().setText(TEST_PASSWORD);
             ui.getLoginButton().doClick();
         });
+        waitForBackgroundWork();
 
         SwingUtilities.invokeAndWait(() -> {
             assertFalse(ui.isVisible());
@@ -103,6 +107,7 @@ public class UIIntTest {
             doThrow(new IllegalArgumentException("Invalid credentials")).when(userServiceMock).login(TEST_USERNAME, "wrongpassword");
             ui.getLoginButton().doClick();
         });
+        waitForBackgroundWork();
 
         SwingUtilities.invokeAndWait(() -> {
            
@@ -120,6 +125,7 @@ public class UIIntTest {
             ui.getPasswordField().setText(TEST_PASSWORD);
             ui.getRegisterButton().doClick();
         });
+        waitForBackgroundWork();
 
         SwingUtilities.invokeAndWait(() -> {
             assertTrue(ui.getUsernameField().getText().isEmpty());
@@ -140,13 +146,14 @@ public class UIIntTest {
             ui.getPasswordField().setText(TEST_PASSWORD);
             ui.getRegisterButton().doClick();
         });
-        Thread.sleep(500);
+        waitForBackgroundWork();
 
         SwingUtilities.invokeAndWait(() -> {
             ui.getUsernameField().setText(TEST_USERNAME);
             ui.getPasswordField().setText(TEST_PASSWORD);
             ui.getLoginButton().doClick();
         });
+        waitForBackgroundWork();
 
         verify(userServiceMock).registerUser(TEST_USERNAME, TEST_PASSWORD);
         verify(userServiceMock).login(TEST_USERNAME, TEST_PASSWORD);
@@ -163,6 +170,7 @@ public class UIIntTest {
             ui.getPasswordField().setText(TEST_PASSWORD);
             ui.getRegisterButton().doClick();
         });
+        waitForBackgroundWork();
 
         SwingUtilities.invokeAndWait(() -> {
             assertEquals(TEST_USERNAME, ui.getUsernameField().getText());
@@ -181,6 +189,7 @@ public class UIIntTest {
             ui.getPasswordField().setText(TEST_PASSWORD);
             ui.getRegisterButton().doClick();
         });
+        waitForBackgroundWork();
 
         SwingUtilities.invokeAndWait(() -> {
             assertTrue(ui.getRegisterButton().isEnabled());
@@ -254,5 +263,18 @@ public class UIIntTest {
         boolean result = (boolean) validateInputMethod.invoke(ui, "   ", "   ");
         assertFalse(result, "Should return false when both fields are blank");
     }
-    
+
+    // Login and register keep both buttons disabled until the call they started has finished
+    private void waitForBackgroundWork() throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        AtomicBoolean busy = new AtomicBoolean(true);
+        while (true) {
+            SwingUtilities.invokeAndWait(() -> busy.set(!ui.getLoginButton().isEnabled()));
+            if (!busy.get()) {
+                return;
+            }
+            assertTrue(System.nanoTime() < deadline, "Login or registration did not finish");
+            Thread.sleep(10);
+        }
+    }
 }
@@ -0,0 +1,119 @@
+package com.todo.UnitTest;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.model.TodoPage;
+import com.todo.service.AsyncTodoService;
+import com.todo.service.TodoService;
+import com.todo.service.UserService;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class AsyncTodoServiceUniTest {
+
+    private TodoService todoService;
+    private AsyncTodoService asyncService;
+
+    @BeforeEach
+    void setUp() {
+        todoService = mock(TodoService.class);
+        asyncService = new AsyncTodoService(todoService, mock(UserService.class), 2, 0);
+    }
+
+    @AfterEach
+    void tearDown() {
+        asyncService.close();
+    }
+
+    @Test
+    @DisplayName("Independent Calls Run Concurrently")
+    void testConcurrentCalls() throws Exception {
+        CountDownLatch bothStarted = new CountDownLatch(2);
+        Todo todo = new Todo(1, 1, "Task", "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+        when(todoService.getTodosPage(1, null, 10)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return new TodoPage(List.of(todo), null);
+        });
+        when(todoService.getTodoById(1)).thenAnswer(invocation -> {
+            bothStarted.countDown();
+            assertTrue(bothStarted.await(5, TimeUnit.SECONDS));
+            return todo;
+        });
+
+        CompletableFuture<TodoPage> page = asyncService.getTodosPage(1, null, 10);
+        CompletableFuture<Todo> single = asyncService.getTodoById(1);
+
+        assertEquals(1, page.get(5, TimeUnit.SECONDS).todos().size());
+        assertSame(todo, single.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    @DisplayName("Service Exceptions Complete The Future Exceptionally")
+    void testExceptionPropagation() {
+        when(todoService.markCompleted(9, 1)).thenThrow(new NoSuchElementException("Todo with ID 9 not found."));
+
+        ExecutionException e = assertThrows(ExecutionException.class,
+            () -> asyncService.markCompleted(9, 1).get(5, TimeUnit.SECONDS));
+        assertInstanceOf(NoSuchElementException.class, e.getCause());
+    }
+
+    @Test
+    @DisplayName("Slow Calls Time Out And Are Interrupted")
+    void testTimeout() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+        try (AsyncTodoService timed = new AsyncTodoService(todoService, mock(UserService.class), 1, 50)) {
+            CompletableFuture<Object> slow = timed.supply(() -> {
+                try {
+                    Thread.sleep(10_000);
+                } catch (InterruptedException e) {
+                    interrupted.countDown();
+                }
+                return null;
+            });
+
+            ExecutionException e = assertThrows(ExecutionException.class, () -> slow.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(TimeoutException.class, e.getCause());
+            assertTrue(interrupted.await(5, TimeUnit.SECONDS));
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelled Queued Calls Never Run")
+    void testCancellation() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Object> first = asyncService.supply(() -> await(release));
+        CompletableFuture<Object> second = asyncService.supply(() -> await(release));
+        CompletableFuture<Boolean> queued = asyncService.deleteTodoById(1);
+
+        assertTrue(queued.cancel(true));
+        release.countDown();
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+
+        assertThrows(CancellationException.class, queued::join);
+        verify(todoService, never()).deleteTodoById(anyInt());
+    }
+
+    private static Object await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+}
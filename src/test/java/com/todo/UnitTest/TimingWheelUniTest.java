@@ -0,0 +1,103 @@
+package com.todo.UnitTest;
+
+import com.todo.service.TimingWheel;
+import org.junit.jupiter.api.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimingWheelUniTest {
+
+    @Test
+    @DisplayName("Entries Fire Once Their Deadline Is Reached, Never Before")
+    void testFiresAtDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 1000);
+        wheel.schedule("a", 1025);
+        wheel.schedule("b", 1040);
+
+        assertTrue(wheel.advance(1020).isEmpty());
+        // Deadlines between ticks wait for the next one
+        assertTrue(wheel.advance(1029).isEmpty());
+        assertEquals(List.of("a"), wheel.advance(1030));
+        assertTrue(wheel.advance(1039).isEmpty());
+        assertEquals(List.of("b"), wheel.advance(1040));
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Deadlines Past One Turn Of The Wheel Wait For Their Round")
+    void testDeadlinesBeyondOneTurn() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 4, 0);
+        wheel.schedule("later", 125);
+        wheel.schedule("soon", 5);
+
+        assertEquals(List.of("soon"), wheel.advance(10));
+        for (long now = 20; now < 130; now += 10) {
+            assertTrue(wheel.advance(now).isEmpty());
+        }
+        assertEquals(List.of("later"), wheel.advance(130));
+    }
+
+    @Test
+    @DisplayName("Cancelled Entries Never Fire")
+    void testCancel() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        TimingWheel.Timeout<String> first = wheel.schedule("first", 50);
+        TimingWheel.Timeout<String> second = wheel.schedule("second", 50);
+        wheel.schedule("third", 50);
+
+        assertTrue(wheel.cancel(second));
+        assertFalse(wheel.cancel(second));
+        assertTrue(wheel.cancel(first));
+        assertEquals(1, wheel.size());
+        assertEquals(List.of("third"), wheel.advance(50));
+    }
+
+    @Test
+    @DisplayName("Past Deadlines Fire On The Next Advance")
+    void testPastDeadline() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        wheel.advance(100);
+        TimingWheel.Timeout<String> late = wheel.schedule("late", 40);
+
+        assertEquals(List.of("late"), wheel.advance(110));
+        assertFalse(wheel.cancel(late));
+    }
+
+    @Test
+    @DisplayName("A Long Pause Fires Everything Due And Keeps The Rest")
+    void testLongPause() {
+        TimingWheel<Integer> wheel = new TimingWheel<>(1, 16, 0);
+        for (int i = 0; i < 100; i++) {
+            wheel.schedule(i, i * 10);
+        }
+
+        List<Integer> fired = new ArrayList<>(wheel.advance(500));
+        fired.sort(null);
+        assertEquals(51, fired.size());
+        assertEquals(50, fired.get(50));
+        assertEquals(49, wheel.size());
+    }
+
+    @Test
+    @DisplayName("Clear Drops Every Entry")
+    void testClear() {
+        TimingWheel<String> wheel = new TimingWheel<>(10, 8, 0);
+        TimingWheel.Timeout<String> timeout = wheel.schedule("a", 20);
+        wheel.schedule("b", 200);
+
+        wheel.clear();
+        assertEquals(0, wheel.size());
+        assertFalse(wheel.cancel(timeout));
+        assertTrue(wheel.advance(1000).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Invalid Tick Or Wheel Size Is Rejected")
+    void testInvalidArguments() {
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(0, 8, 0));
+        assertThrows(IllegalArgumentException.class, () -> new TimingWheel<String>(10, 0, 0));
+    }
+}
@@ -0,0 +1,216 @@
+package com.todo.UnitTest;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.model.TodoChange;
+import com.todo.model.TodoPage;
+import com.todo.service.TodoCache;
+import org.junit.jupiter.api.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoCacheUniTest {
+
+    private Todo todo(int id, int userId) {
+        Todo todo = new Todo(id, userId, "Task " + id, "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work);
+        todo.setUserId(userId);
+        return todo;
+    }
+
+    @Test
+    @DisplayName("Cached List Is Served And Counted As Hit")
+    void testHitAndMissCounters() {
+        TodoCache cache = new TodoCache(10);
+
+        assertNull(cache.getTodos(1));
+        cache.putTodos(1, List.of(todo(1, 1), todo(2, 1)), cache.generation());
+
+        assertEquals(2, cache.getTodos(1).size());
+        assertEquals(2, cache.getTodo(2).getId());
+
+        TodoCache.Stats stats = cache.getStats();
+        assertEquals(2, stats.hits());
+        assertEquals(1, stats.misses());
+        assertEquals(2, stats.cachedTodos());
+    }
+
+    @Test
+    @DisplayName("Least Recently Used User Is Evicted Over Budget")
+    void testLruEviction() {
+        TodoCache cache = new TodoCache(3);
+        cache.putTodos(1, List.of(todo(1, 1), todo(2, 1)), cache.generation());
+        cache.putTodos(2, List.of(todo(3, 2)), cache.generation());
+
+        // Touch user 1 so user 2 becomes the eldest
+        cache.getTodos(1);
+        cache.putTodos(3, List.of(todo(4, 3)), cache.generation());
+
+        assertNotNull(cache.getTodos(1));
+        assertNull(cache.getTodos(2));
+        assertNull(cache.getTodo(3));
+        assertNotNull(cache.getTodos(3));
+        assertEquals(1, cache.getStats().evictions());
+        assertEquals(3, cache.getStats().cachedTodos());
+    }
+
+    @Test
+    @DisplayName("Writes Update Lists And Drop Pages")
+    void testWriteThrough() {
+        TodoCache cache = new TodoCache(10);
+        cache.putTodos(1, List.of(todo(1, 1)), cache.generation());
+        cache.putPage(1, null, 10, new TodoPage(List.of(todo(1, 1)), null), cache.generation());
+
+        Todo updated = todo(1, 1);
+        updated.setTitle("Updated");
+        cache.writeTodo(updated);
+        cache.writeTodo(todo(2, 1));
+
+        assertNull(cache.getPage(1, null, 10));
+        assertEquals(2, cache.getTodos(1).size());
+        assertEquals("Updated", cache.getTodo(1).getTitle());
+
+        cache.removeTodo(1);
+        assertNull(cache.getTodo(1));
+        assertEquals(1, cache.getTodos(1).size());
+        assertEquals(1, cache.getStats().cachedTodos());
+    }
+
+    @Test
+    @DisplayName("Cached Todos Are Handed Out As Copies")
+    void testCopies() {
+        TodoCache cache = new TodoCache(10);
+        Todo original = todo(1, 1);
+        cache.putTodos(1, List.of(original), cache.generation());
+        cache.putPage(1, null, 10, new TodoPage(List.of(original), null), cache.generation());
+
+        original.setTitle("Changed by caller");
+        cache.getTodo(1).setTitle("Changed by reader");
+        cache.getTodos(1).get(0).setTitle("Changed by reader");
+        cache.getPage(1, null, 10).todos().get(0).setTitle("Changed by reader");
+
+        assertEquals("Task 1", cache.getTodo(1).getTitle());
+        assertEquals("Task 1", cache.getTodos(1).get(0).getTitle());
+        assertEquals("Task 1", cache.getPage(1, null, 10).todos().get(0).getTitle());
+        assertNotSame(cache.getTodo(1), cache.getTodo(1));
+    }
+
+    @Test
+    @DisplayName("Reading A Newer Version Replaces The Cached One")
+    void testPutNewerVersion() {
+        TodoCache cache = new TodoCache(10);
+        cache.putTodos(1, List.of(todo(1, 1)), cache.generation());
+        cache.putPage(1, null, 10, new TodoPage(List.of(todo(1, 1)), null), cache.generation());
+
+        cache.putTodo(todo(1, 1), cache.generation());
+        assertNotNull(cache.getPage(1, null, 10), "Reading the same version should keep the pages");
+
+        Todo reread = todo(1, 1);
+        reread.setTitle("Reread");
+        reread.setVersion(1);
+        cache.putTodo(reread, cache.generation());
+        assertEquals("Reread", cache.getTodo(1).getTitle());
+        assertEquals("Reread", cache.getTodos(1).get(0).getTitle());
+        assertNull(cache.getPage(1, null, 10));
+    }
+
+    @Test
+    @DisplayName("Moving A Todo To Another User Invalidates The Old Owner")
+    void testWriteMovesOwner() {
+        TodoCache cache = new TodoCache(10);
+        cache.putTodos(1, List.of(todo(1, 1)), cache.generation());
+
+        cache.writeTodo(todo(1, 2));
+
+        assertNull(cache.getTodos(1));
+        assertNull(cache.getTodo(1));
+    }
+
+    @Test
+    @DisplayName("Reported Changes The Cache Already Holds Are Skipped")
+    void testApplyOwnChange() {
+        TodoCache cache = new TodoCache(10);
+        cache.putTodos(1, List.of(todo(1, 1)), cache.generation());
+        Todo updated = todo(1, 1);
+        updated.setVersion(1);
+        cache.writeTodo(updated);
+        cache.writeTodo(todo(2, 1));
+
+        cache.applyChange(new TodoChange(TodoChange.Operation.UPDATE, 1, List.of(1), List.of(1)));
+        cache.applyChange(new TodoChange(TodoChange.Operation.INSERT, 1, List.of(2), List.of(0)));
+        assertEquals(2, cache.getTodos(1).size());
+
+        cache.removeTodo(2);
+        cache.applyChange(new TodoChange(TodoChange.Operation.DELETE, 1, List.of(2), List.of(0)));
+
+        assertEquals(1, cache.getTodos(1).size());
+        assertEquals(1, cache.getTodo(1).getVersion());
+    }
+
+    @Test
+    @DisplayName("Reported Changes From Elsewhere Drop Only What They Touch")
+    void testApplyOtherChange() {
+        TodoCache cache = new TodoCache(10);
+        cache.putTodos(1, List.of(todo(1, 1), todo(2, 1)), cache.generation());
+        cache.putTodos(2, List.of(todo(3, 2)), cache.generation());
+
+        cache.applyChange(new TodoChange(TodoChange.Operation.UPDATE, 1, List.of(1), List.of(1)));
+
+        assertNull(cache.getTodos(1));
+        assertNull(cache.getTodo(1));
+        assertNotNull(cache.getTodo(2));
+        assertNotNull(cache.getTodos(2));
+
+        // A todo moved away from user 2 is reported to user 2 with its new version
+        cache.applyChange(new TodoChange(TodoChange.Operation.UPDATE, 2, List.of(3), List.of(1)));
+        assertNull(cache.getTodos(2));
+        assertNull(cache.getTodo(3));
+
+        cache.putTodos(1, List.of(todo(2, 1)), cache.generation());
+        cache.applyChange(new TodoChange(TodoChange.Operation.INSERT, 1, List.of(4), List.of(0)));
+        assertNull(cache.getTodos(1));
+
+        cache.applyChange(new TodoChange(TodoChange.Operation.UPDATE, 1, List.of()));
+        assertNull(cache.getTodo(2));
+        assertEquals(0, cache.getStats().cachedTodos());
+    }
+
+    @Test
+    @DisplayName("Reads Overtaken By A Write Or Change Are Not Cached")
+    void testStaleReadRefused() {
+        TodoCache cache = new TodoCache(10);
+
+        // Nothing is cached yet when the delete is reported, so it drops nothing, but the list
+        // read before it still holds the deleted todo
+        long readAt = cache.generation();
+        cache.applyChange(new TodoChange(TodoChange.Operation.DELETE, 1, List.of(2), List.of(0)));
+        cache.putTodos(1, List.of(todo(1, 1), todo(2, 1)), readAt);
+        cache.putPage(1, null, 10, new TodoPage(List.of(todo(1, 1), todo(2, 1)), null), readAt);
+        cache.putTodo(todo(2, 1), readAt);
+        assertNull(cache.getTodos(1));
+        assertNull(cache.getPage(1, null, 10));
+        assertNull(cache.getTodo(2));
+
+        readAt = cache.generation();
+        cache.writeTodo(todo(1, 1));
+        cache.putTodos(1, List.of(todo(1, 1)), readAt);
+        assertNull(cache.getTodos(1));
+
+        cache.putTodos(1, List.of(todo(1, 1)), cache.generation());
+        assertEquals(1, cache.getTodos(1).size());
+    }
+
+    @Test
+    @DisplayName("Zero Budget Disables Caching")
+    void testDisabledCache() {
+        TodoCache cache = new TodoCache(0);
+        cache.putTodos(1, List.of(todo(1, 1)), cache.generation());
+
+        assertNull(cache.getTodos(1));
+        assertEquals(0, cache.getStats().evictions());
+        assertThrows(IllegalArgumentException.class, () -> new TodoCache(-1));
+    }
+}
@@ -0,0 +1,107 @@
+package com.todo.UnitTest;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.ui.TodoTableModel;
+import org.junit.jupiter.api.*;
+
+import javax.swing.event.TableModelEvent;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TodoTableModelUniTest {
+
+    private TodoTableModel model;
+    private List<TableModelEvent> events;
+
+    @BeforeEach
+    void setUp() {
+        model = new TodoTableModel();
+        events = new ArrayList<>();
+        model.addTableModelListener(events::add);
+    }
+
+    private Todo todo(int id, String title) {
+        return new Todo(id, 1, title, "Description", LocalDate.now().plusDays(id), Priority.LOW, Tags.Work);
+    }
+
+    @Test
+    @DisplayName("Cells Are Read From The Todo")
+    void testCellValues() {
+        Todo todo = todo(7, "Read");
+        todo.setCompleted(true);
+        model.setTodos(List.of(todo));
+
+        assertEquals(1, model.getRowCount());
+        assertEquals(7, model.getValueAt(0, 0));
+        assertEquals("Read", model.getValueAt(0, 1));
+        assertEquals(todo.getDueDate(), model.getValueAt(0, 3));
+        assertEquals(Priority.LOW, model.getValueAt(0, 4));
+        assertEquals("Completed", model.getValueAt(0, 6));
+        assertEquals("Status", model.getColumnName(6));
+        assertFalse(model.isCellEditable(0, 1));
+    }
+
+    @Test
+    @DisplayName("Appending And Updating Fire Row-Level Events")
+    void testRowEvents() {
+        model.setTodos(List.of(todo(1, "One")));
+        model.addTodos(List.of(todo(2, "Two"), todo(3, "Three")));
+        model.putTodo(todo(2, "Two Updated"));
+
+        assertEquals(3, events.size());
+        assertEquals(TableModelEvent.INSERT, events.get(1).getType());
+        assertEquals(1, events.get(1).getFirstRow());
+        assertEquals(2, events.get(1).getLastRow());
+        assertEquals(TableModelEvent.UPDATE, events.get(2).getType());
+        assertEquals(1, events.get(2).getFirstRow());
+        assertEquals(1, events.get(2).getLastRow());
+        assertEquals("Two Updated", model.getValueAt(1, 1));
+    }
+
+    @Test
+    @DisplayName("Removing A Row Keeps The Id Index In Step")
+    void testRemoveReindexes() {
+        model.setTodos(List.of(todo(1, "One"), todo(2, "Two"), todo(3, "Three")));
+
+        assertTrue(model.removeTodo(1));
+        assertFalse(model.removeTodo(1));
+
+        assertEquals(TableModelEvent.DELETE, events.get(events.size() - 1).getType());
+        assertEquals(-1, model.indexOf(1));
+        assertEquals(0, model.indexOf(2));
+        assertEquals(1, model.indexOf(3));
+        assertEquals("Three", model.getTodoAt(1).getTitle());
+    }
+
+    @Test
+    @DisplayName("Inserting A Row Shifts The Rows Below It")
+    void testInsertReindexes() {
+        model.setTodos(List.of(todo(1, "One"), todo(3, "Three")));
+
+        model.insertTodo(1, todo(2, "Two"));
+
+        TableModelEvent inserted = events.get(events.size() - 1);
+        assertEquals(TableModelEvent.INSERT, inserted.getType());
+        assertEquals(1, inserted.getFirstRow());
+        assertEquals(1, model.indexOf(2));
+        assertEquals(2, model.indexOf(3));
+        assertEquals("Two", model.getValueAt(1, 1));
+    }
+
+    @Test
+    @DisplayName("Rows Report Their Age Since Loading")
+    void testFreshness() throws InterruptedException {
+        model.setTodos(List.of(todo(1, "One"), todo(2, "Two")));
+        Thread.sleep(20);
+        model.putTodo(todo(2, "Two Reloaded"));
+
+        assertFalse(model.isFresh(0, 10));
+        assertTrue(model.isFresh(1, 10));
+        assertTrue(model.isFresh(0, 60_000));
+    }
+}
@@ -3,7 +3,12 @@ package com.todo.UnitTest;
 import com.todo.model.Priority;
 import com.todo.model.Tags;
 import com.todo.model.Todo;
+import com.todo.model.TodoPage;
+import com.todo.model.TodoQuery;
+import com.todo.model.TodoStats;
+import com.todo.model.TodoUpdateResult;
 import com.todo.service.TodoService;
+import com.todo.ui.TodoTableModel;
 import com.todo.ui.TodoUI;
 import org.junit.jupiter.api.*;
 import org.mockito.Mock;
@@ -11,14 +16,19 @@ import org.mockito.MockitoAnnotations;
 import javax.swing.*;
 import java.awt.Container;
 import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
 import org.junit.jupiter.api.Test;
-import javax.swing.table.DefaultTableModel;
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -36,7 +46,7 @@ class TodoUIUnitTest {
     private JComboBox<Priority> priorityComboBox;
     private JComboBox<Tags> tagsComboBox;
     private JTable todoTable;
-    private DefaultTableModel tableModel;
+    private TodoTableModel tableModel;
     private JButton addButton;
     private JButton updateButton;
     private JButton deleteButton;
@@ -46,7 +56,8 @@ class TodoUIUnitTest {
 	@BeforeEach
 	void setUp() {
         closeable = MockitoAnnotations.openMocks(this);
-        todoUI = new TodoUI(todoService, "TestUser", 1);
+        stubTodos(List.of());
+        onEdt(() -> todoUI = new TodoUI(todoService, "TestUser", 1));
         
         try {
             titleField = getPrivateField(todoUI, "titleField", JTextField.class);
@@ -55,7 +66,7 @@ class TodoUIUnitTest {
             priorityComboBox = getPrivateField(todoUI, "priorityComboBox", JComboBox.class);
             tagsComboBox = getPrivateField(todoUI, "tagsComboBox", JComboBox.class);
             todoTable = getPrivateField(todoUI, "todoTable", JTable.class);
-            tableModel = getPrivateField(todoUI, "tableModel", DefaultTableModel.class);
+            tableModel = getPrivateField(todoUI, "tableModel", TodoTableModel.class);
             addButton = findButtonByText(todoUI, "Add");
             updateButton = findButtonByText(todoUI, "Update");
             deleteButton = findButtonByText(todoUI, "Delete");
@@ -132,17 +143,21 @@ class TodoUIUnitTest {
       
         Todo testTodo = new Todo(1, 1, "Test Todo", "Test Description", LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
                 
-        when(todoService.getTodoById(1)).thenReturn(testTodo);
+        when(todoService.reloadTodoById(1)).thenReturn(testTodo);
         setupTableWithTestData(testTodo);
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
 
         titleField.setText("Updated Todo");
         descriptionField.setText("Updated Description");
         dateField.setText(LocalDate.now().plusDays(2).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
         
+        when(todoService.updateTodoIfVersion(eq(1), anyInt(), eq(0), anyString(), anyString(),
+                any(LocalDate.class), any(Priority.class), any(Tags.class), anyBoolean()))
+            .thenReturn(TodoUpdateResult.updated(testTodo));
+        
         findAndClickButton(todoUI, "Update");
         
-        verify(todoService).updateTodo(eq(1), anyInt(), eq("Updated Todo"), eq("Updated Description"), 
+        verify(todoService).updateTodoIfVersion(eq(1), anyInt(), eq(0), eq("Updated Todo"), eq("Updated Description"), 
                 any(LocalDate.class), any(Priority.class), any(Tags.class), eq(false));
     }
     
@@ -151,7 +166,7 @@ class TodoUIUnitTest {
     void testAddTodoInUpdateMode() {
         setPrivateField(todoUI, "isUpdateMode", true);
         
-        addButton.doClick();
+        onEdt(addButton::doClick);
         
          verify(todoService, never()).createTodo(
             anyInt(), anyInt(), anyString(), anyString(), 
@@ -172,7 +187,7 @@ class TodoUIUnitTest {
             any(LocalDate.class), any(Priority.class), any(Tags.class)
         )).thenThrow(new IllegalArgumentException("Test exception"));
       
-        addButton.doClick();
+        onEdt(addButton::doClick);
       
         assertEquals("Test Todo", titleField.getText());
         assertEquals("Test Description", descriptionField.getText());
@@ -182,9 +197,9 @@ class TodoUIUnitTest {
     @DisplayName("Test Update Todo With No Selection")
     void testUpdateTodoWithNoSelection() {
        
-        todoTable.clearSelection();
+        onEdt(() -> todoTable.clearSelection());
         
-        updateButton.doClick();
+        onEdt(updateButton::doClick);
         
         verify(todoService, never()).updateTodo(
             anyInt(), anyInt(), anyString(), anyString(), 
@@ -199,11 +214,11 @@ class TodoUIUnitTest {
         Todo testTodo = new Todo(1, 1, "Test Todo", "Test Description", 
                 LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
         setupTableWithTestData(testTodo);
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
         
         dateField.setText("invalid-date");
       
-        updateButton.doClick();
+        onEdt(updateButton::doClick);
     
         verify(todoService, never()).updateTodo(
             anyInt(), anyInt(), anyString(), anyString(), 
@@ -217,7 +232,7 @@ class TodoUIUnitTest {
         Todo testTodo = new Todo(1, 1, "Test Todo", "Test Description", 
                 LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
         setupTableWithTestData(testTodo);
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
         
         invokePopulateFieldsFromSelectedRow();
         assertEquals("Test Todo", titleField.getText(), "Title field should be populated after manual call");
@@ -225,12 +240,12 @@ class TodoUIUnitTest {
         descriptionField.setText("Updated Description");
         dateField.setText(LocalDate.now().plusDays(2).format(DateTimeFormatter.ofPattern("yyyy-MM-dd")));
         
-        when(todoService.updateTodo(
-            anyInt(), anyInt(), anyString(), anyString(), 
+        when(todoService.updateTodoIfVersion(
+            anyInt(), anyInt(), anyInt(), anyString(), anyString(), 
             any(LocalDate.class), any(Priority.class), any(Tags.class), anyBoolean()
         )).thenThrow(new IllegalArgumentException("Test exception"));
         
-        updateButton.doClick();
+        onEdt(updateButton::doClick);
         
         assertEquals("Updated Todo", titleField.getText(), "Fields should retain updated values after exception");
         assertEquals("Updated Description", descriptionField.getText(), "Fields should retain updated values after exception");
@@ -245,17 +260,55 @@ class TodoUIUnitTest {
         
         when(todoService.deleteTodoById(1)).thenReturn(true);
         setupTableWithTestData(testTodo);
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
         findAndClickButton(todoUI, "Delete");
         verify(todoService).deleteTodoById(1);
     }
     
+    @Test
+    @DisplayName("Delete And Complete Act On The Whole Selection")
+    void testBulkActionsOnSelection() {
+        Todo first = new Todo(1, 1, "First", "Test", LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
+        Todo second = new Todo(2, 1, "Second", "Test", LocalDate.now().plusDays(2), Priority.LOW, Tags.Home);
+        stubTodos(List.of(first, second));
+        invokeRefreshTable();
+        when(todoService.completeAll(anyCollection(), anyInt())).thenReturn(2);
+        when(todoService.deleteAll(anyCollection(), anyInt())).thenReturn(2);
+
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 1));
+        onEdt(markCompletedButton::doClick);
+        verify(todoService).completeAll(eq(List.of(1, 2)), anyInt());
+        verify(todoService, never()).markCompleted(anyInt(), anyInt());
+
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 1));
+        onEdt(deleteButton::doClick);
+        verify(todoService).deleteAll(eq(List.of(1, 2)), anyInt());
+        verify(todoService, never()).deleteTodoById(anyInt());
+    }
+    
+    @Test
+    @DisplayName("Selecting Rows Fills Fields From Loaded Todos")
+    void testSelectionServedFromMemory() {
+        Todo first = new Todo(1, 1, "First", "Test", LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
+        Todo second = new Todo(2, 1, "Second", "Other", LocalDate.now().plusDays(2), Priority.LOW, Tags.Home);
+        stubTodos(List.of(first, second));
+        invokeRefreshTable();
+
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
+        assertEquals("First", titleField.getText());
+        onEdt(() -> todoTable.setRowSelectionInterval(1, 1));
+        assertEquals("Second", titleField.getText());
+        assertEquals(Tags.Home, tagsComboBox.getSelectedItem());
+
+        verify(todoService, never()).reloadTodoById(anyInt());
+    }
+    
     @Test
     @DisplayName("Test Delete Todo With No Selection")
     void testDeleteTodoWithNoSelection() {
-        todoTable.clearSelection();
+        onEdt(() -> todoTable.clearSelection());
         
-        deleteButton.doClick();
+        onEdt(deleteButton::doClick);
         verify(todoService, never()).deleteTodoById(anyInt());
     }
 
@@ -265,15 +318,15 @@ class TodoUIUnitTest {
         Todo testTodo = new Todo(1, 1, "Test Todo", "Test Description", 
                 LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
         setupTableWithTestData(testTodo);
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
         
         when(todoService.deleteTodoById(1)).thenReturn(false);
         
         reset(todoService);
         when(todoService.deleteTodoById(1)).thenReturn(false);
-        when(todoService.getTodosByUserId(anyInt())).thenReturn(List.of(testTodo));
+        stubTodos(List.of(testTodo));
         
-        deleteButton.doClick();
+        onEdt(deleteButton::doClick);
         verify(todoService).deleteTodoById(1);
         assertEquals(1, todoTable.getRowCount(), "Todo should still be present after failed deletion");
     }
@@ -284,27 +337,30 @@ class TodoUIUnitTest {
     void testMarkTodoCompleted() {
         Todo testTodo = new Todo(1, 1, "Test Todo", "Test Description", 
                 LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
-        when(todoService.getTodoById(1)).thenReturn(testTodo);
+        when(todoService.markCompleted(eq(1), anyInt())).thenReturn(testTodo);
 
         setupTableWithTestData(testTodo);
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
         findAndClickButton(todoUI, "Mark Completed");
-        verify(todoService).updateTodo(eq(1), anyInt(), anyString(), anyString(), 
-                any(LocalDate.class), any(Priority.class), any(Tags.class), eq(true));
+        verify(todoService).markCompleted(eq(1), anyInt());
+        verify(todoService, never()).reloadTodoById(anyInt());
+        verify(todoService, never()).updateTodo(anyInt(), anyInt(), anyString(), anyString(), 
+                any(LocalDate.class), any(Priority.class), any(Tags.class), anyBoolean());
     }
     
     @Test
-    @DisplayName("Test Mark Todo As Completed With Null Todo")
+    @DisplayName("Test Mark Todo As Completed With Missing Todo")
     void testMarkTodoCompletedWithNullTodo() {
         Todo testTodo = new Todo(1, 1, "Test Todo", "Test Description", 
                 LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
         setupTableWithTestData(testTodo);
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
         
-        when(todoService.getTodoById(1)).thenReturn(null);
+        when(todoService.markCompleted(eq(1), anyInt())).thenThrow(new NoSuchElementException("Todo with ID 1 not found."));
         
-        markCompletedButton.doClick();
+        onEdt(markCompletedButton::doClick);
         
+         verify(todoService).markCompleted(eq(1), anyInt());
          verify(todoService, never()).updateTodo(
             anyInt(), anyInt(), anyString(), anyString(), 
             any(LocalDate.class), any(Priority.class), any(Tags.class), eq(true)
@@ -314,10 +370,11 @@ class TodoUIUnitTest {
     @Test
     @DisplayName("Test Mark Todo As Completed With No Selection")
     void testMarkTodoCompletedWithNoSelection() {
-        todoTable.clearSelection();
+        onEdt(() -> todoTable.clearSelection());
     
-        markCompletedButton.doClick();
+        onEdt(markCompletedButton::doClick);
         
+        verify(todoService, never()).markCompleted(anyInt(), anyInt());
         verify(todoService, never()).updateTodo(
             anyInt(), anyInt(), anyString(), anyString(), 
             any(LocalDate.class), any(Priority.class), any(Tags.class), anyBoolean()
@@ -331,7 +388,9 @@ class TodoUIUnitTest {
         todos.add(new Todo(1, 1, "High Priority", "Test", LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work));
         todos.add(new Todo(2, 1, "Low Priority", "Test", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work));
         
-        when(todoService.getTodosByUserId(1)).thenReturn(todos);
+        stubTodos(todos);
+        when(todoService.findTodos(argThat(query -> query != null && query.getPriorities().equals(Set.of(Priority.HIGH)))))
+            .thenReturn(List.of(todos.get(0)));
         
         invokeRefreshTable();
 
@@ -339,6 +398,7 @@ class TodoUIUnitTest {
         filterComboBox.setSelectedItem(Priority.HIGH);
 
         findAndClickButton(todoUI, "Apply Filter");     
+        verify(todoService).findTodos(any(TodoQuery.class));
         assertEquals(1, todoTable.getRowCount());
         assertEquals("High Priority", todoTable.getValueAt(0, 1));
     }
@@ -351,7 +411,7 @@ class TodoUIUnitTest {
             new Todo(1, 1, "High Priority", "Test", LocalDate.now(), Priority.HIGH, Tags.Work),
             new Todo(2, 1, "Low Priority", "Test", LocalDate.now(), Priority.LOW, Tags.Work)
         );
-        when(todoService.getTodosByUserId(1)).thenReturn(todos);
+        stubTodos(todos);
         
         JComboBox<Priority> filterComboBox = findComboBoxByName(todoUI, "filterPriorityComboBox");
         filterComboBox.setSelectedItem(Priority.HIGH);
@@ -363,6 +423,26 @@ class TodoUIUnitTest {
         assertEquals(2, todoTable.getRowCount(), "All todos should be visible after clearing filter");
     }
     
+    @Test
+    @DisplayName("Load More Appends Next Page")
+    void testLoadMoreAppendsNextPage() {
+        Todo first = new Todo(1, 1, "First", "Test", LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
+        Todo second = new Todo(2, 1, "Second", "Test", LocalDate.now().plusDays(2), Priority.LOW, Tags.Home);
+        when(todoService.getTodosPage(eq(1), isNull(), anyInt())).thenReturn(new TodoPage(List.of(first), "next"));
+        when(todoService.getTodosPage(eq(1), eq("next"), anyInt())).thenReturn(new TodoPage(List.of(second), null));
+        
+        invokeRefreshTable();
+        assertEquals(1, todoTable.getRowCount());
+        
+        JButton loadMoreButton = findButtonByText(todoUI, "Load More");
+        assertTrue(loadMoreButton.isEnabled());
+        onEdt(loadMoreButton::doClick);
+        
+        assertEquals(2, todoTable.getRowCount());
+        assertEquals("Second", todoTable.getValueAt(1, 1));
+        assertFalse(loadMoreButton.isEnabled(), "Load More should be disabled after the last page");
+    }
+    
     @Test
     @DisplayName("Test Clear Fields Button")
     void testClearFields() {
@@ -411,7 +491,7 @@ class TodoUIUnitTest {
         .thenReturn(new Todo(1, 1, "Valid Todo", "Valid Description", 
                            LocalDate.parse("2025-12-31"), Priority.HIGH, Tags.Work));
         
-        findButtonByText(todoUI, "Add").doClick();
+        onEdt(findButtonByText(todoUI, "Add")::doClick);
         
         verify(todoService).createTodo(
             anyInt(), anyInt(), eq("Valid Todo"), eq("Valid Description"),
@@ -435,7 +515,7 @@ class TodoUIUnitTest {
             priorityBox.setSelectedItem(Priority.HIGH);
             tagsBox.setSelectedItem(Tags.Work);
             
-            findButtonByText(todoUI, "Add").doClick();
+            onEdt(findButtonByText(todoUI, "Add")::doClick);
             
             verify(todoService, never()).createTodo(
                 anyInt(), anyInt(), anyString(), anyString(), 
@@ -450,14 +530,14 @@ class TodoUIUnitTest {
   
         Todo testTodo = new Todo(1, 1, "Test Todo", "Test Description",
                 LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
-        when(todoService.getTodosByUserId(1)).thenReturn(List.of(testTodo));
-        when(todoService.getTodoById(1)).thenReturn(testTodo);
+        stubTodos(List.of(testTodo));
+        when(todoService.reloadTodoById(1)).thenReturn(testTodo);
 
         invokeRefreshTable();
         titleField.setText("");
         descriptionField.setText("");
         dateField.setText("");
-        todoTable.setRowSelectionInterval(0, 0);
+        onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
         assertEquals("Test Todo", titleField.getText(), 
             "Fields should be populated when a row is selected");
         titleField.setText("");
@@ -470,7 +550,7 @@ class TodoUIUnitTest {
         titleField.setText("");
         descriptionField.setText("");
         dateField.setText("");
-        todoTable.clearSelection();
+        onEdt(() -> todoTable.clearSelection());
         
         invokePopulateFieldsFromSelectedRow();
         assertEquals("", titleField.getText(), 
@@ -480,10 +560,10 @@ class TodoUIUnitTest {
         @Test
         @DisplayName("Test populateFieldsFromSelectedRow With No Selection")
         void testPopulateFieldsFromSelectedRowWithNoSelection() {
-            todoTable.clearSelection();
+            onEdt(() -> todoTable.clearSelection());
             
             invokePopulateFieldsFromSelectedRow();
-            verify(todoService, never()).getTodoById(anyInt());
+            verify(todoService, never()).reloadTodoById(anyInt());
 
         }
 
@@ -494,8 +574,8 @@ class TodoUIUnitTest {
                     LocalDate.now().plusDays(1), Priority.HIGH, Tags.Work);
             setupTableWithTestData(testTodo);
             
-            todoTable.setRowSelectionInterval(0, 0);
-            when(todoService.getTodoById(1)).thenReturn(null);
+            onEdt(() -> todoTable.setRowSelectionInterval(0, 0));
+            when(todoService.reloadTodoById(1)).thenReturn(null);
             
             titleField.setText("Unchanged");
             descriptionField.setText("Unchanged");
@@ -536,35 +616,71 @@ class TodoUIUnitTest {
     private void setupTableWithTestData(Todo todo) {
         List<Todo> todos = new ArrayList<>();
         todos.add(todo);
-        when(todoService.getTodosByUserId(1)).thenReturn(todos);
-        when(todoService.getTodoById(1)).thenReturn(todo);
+        stubTodos(todos);
+        when(todoService.reloadTodoById(1)).thenReturn(todo);
         invokeRefreshTable();
     }
     
+    private void stubTodos(List<Todo> todos) {
+        when(todoService.getTodosPage(anyInt(), any(), anyInt())).thenReturn(new TodoPage(todos, null));
+        when(todoService.getStats(anyInt())).thenReturn(new TodoStats(todos.size(), Map.of(), Map.of(), Map.of(), 0, 0));
+    }
+    
     private void invokeRefreshTable() {
-        try {
-            java.lang.reflect.Method refreshMethod = TodoUI.class.getDeclaredMethod("refreshTable");
-            refreshMethod.setAccessible(true);
-            refreshMethod.invoke(todoUI);
-        } catch (Exception e) {
-            fail("Failed to invoke refreshTable: " + e.getMessage());
-        }
+        onEdt(() -> {
+            try {
+                java.lang.reflect.Method refreshMethod = TodoUI.class.getDeclaredMethod("refreshTable");
+                refreshMethod.setAccessible(true);
+                refreshMethod.invoke(todoUI);
+            } catch (Exception e) {
+                fail("Failed to invoke refreshTable: " + e.getMessage());
+            }
+        });
     }
     
     private void invokePopulateFieldsFromSelectedRow() {
+        onEdt(() -> {
+            try {
+                Method method = TodoUI.class.getDeclaredMethod("populateFieldsFromSelectedRow");
+                method.setAccessible(true);
+                method.invoke(todoUI);
+            } catch (Exception e) {
+                fail("Failed to invoke populateFieldsFromSelectedRow: " + e.getMessage());
+            }
+        });
+    }
+
+    // Runs the action on the EDT like a user's click, then waits for the background work it
+    // started; the busy indicator shows until the last task has delivered its result
+    private void onEdt(Runnable action) {
         try {
-            Method method = TodoUI.class.getDeclaredMethod("populateFieldsFromSelectedRow");
-            method.setAccessible(true);
-            method.invoke(todoUI);
-        } catch (Exception e) {
-            fail("Failed to invoke populateFieldsFromSelectedRow: " + e.getMessage());
+            SwingUtilities.invokeAndWait(action);
+            JProgressBar busyIndicator = getPrivateField(todoUI, "busyIndicator", JProgressBar.class);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            AtomicBoolean busy = new AtomicBoolean(true);
+            while (true) {
+                SwingUtilities.invokeAndWait(() -> busy.set(busyIndicator.isVisible()));
+                if (!busy.get()) {
+                    return;
+                }
+                assertTrue(System.nanoTime() < deadline, "Background work did not finish");
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while waiting for background work");
+        } catch (InvocationTargetException e) {
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            fail("Action failed: " + e.getCause());
         }
     }
 
     private void findAndClickButton(Container container, String text) {
         JButton button = findButtonByText(container, text);
         assertNotNull(button, "Button with text '" + text + "' not found");
-        button.doClick();
+        onEdt(button::doClick);
     }
 
     private JButton findButtonByText(Container container, String text) {
@@ -8,6 +8,12 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import javax.swing.JButton;
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
@@ -45,7 +51,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getRegisterButton().doClick();
+        click(ui.getRegisterButton());
 
         verify(userService).registerUser(username, password);
         assertTrue(ui.getUsernameField().getText().isEmpty());
@@ -63,7 +69,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getRegisterButton().doClick();
+        click(ui.getRegisterButton());
 
         verify(userService).registerUser(username, password);
         assertEquals(username, ui.getUsernameField().getText());
@@ -81,7 +87,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getLoginButton().doClick();
+        click(ui.getLoginButton());
 
         verify(userService).login(username, password);
         assertTrue(ui.getUsernameField().getText().isEmpty());
@@ -99,7 +105,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getLoginButton().doClick();
+        click(ui.getLoginButton());
 
         verify(userService).login(username, password);
         assertEquals(username, ui.getUsernameField().getText());
@@ -117,7 +123,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getLoginButton().doClick();
+        click(ui.getLoginButton());
 
         verify(userService).login(username, password);
         assertFalse(ui.isVisible());
@@ -131,7 +137,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText("testuser");
         ui.getPasswordField().setText("password123");
-        ui.getRegisterButton().doClick();
+        click(ui.getRegisterButton());
 
         assertTrue(ui.getUsernameField().getText().isEmpty());
         assertTrue(new String(ui.getPasswordField().getPassword()).isEmpty());
@@ -142,7 +148,7 @@ class UIUniTest {
     void testInvalidPasswordError() {
         ui.getUsernameField().setText("testuser");
         ui.getPasswordField().setText("short");
-        ui.getRegisterButton().doClick();
+        click(ui.getRegisterButton());
 
         assertEquals("testuser", ui.getUsernameField().getText());
         assertTrue(new String(ui.getPasswordField().getPassword()).isEmpty());
@@ -155,7 +161,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText("testuser");
         ui.getPasswordField().setText("password123");
-        ui.getLoginButton().doClick();
+        click(ui.getLoginButton());
 
         assertEquals("testuser", ui.getUsernameField().getText());
         assertTrue(new String(ui.getPasswordField().getPassword()).isEmpty());
@@ -172,7 +178,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getLoginButton().doClick();
+        click(ui.getLoginButton());
 
         verify(userService).login(username, password);
     }
@@ -181,7 +187,7 @@ class UIUniTest {
     void testUsernameWithOnlySpaces() {
         ui.getUsernameField().setText("   ");
         ui.getPasswordField().setText("password123");
-        ui.getRegisterButton().doClick();
+        click(ui.getRegisterButton());
 
         assertEquals("   ", ui.getUsernameField().getText());
         assertTrue(new String(ui.getPasswordField().getPassword()).isEmpty());
@@ -198,7 +204,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(longUsername);
         ui.getPasswordField().setText(password);
-        ui.getRegisterButton().doClick();
+        click(ui.getRegisterButton());
 
         verify(userService).registerUser(longUsername, password);
     }
@@ -214,7 +220,7 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(longPassword);
-        ui.getRegisterButton().doClick();
+        click(ui.getRegisterButton());
 
         verify(userService).registerUser(username, longPassword);
     }
@@ -232,13 +238,35 @@ class UIUniTest {
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getLoginButton().doClick();
+        click(ui.getLoginButton());
 
         ui.getUsernameField().setText(username);
         ui.getPasswordField().setText(password);
-        ui.getLoginButton().doClick();
+        click(ui.getLoginButton());
 
         verify(userService, times(2)).login(username, password);
     }
-    
-}
\ No newline at end of file
+
+    // Clicks on the EDT like a user would, then waits for the login or registration to finish;
+    // both buttons stay disabled until then
+    private void click(JButton button) {
+        try {
+            SwingUtilities.invokeAndWait(button::doClick);
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            AtomicBoolean busy = new AtomicBoolean(true);
+            while (true) {
+                SwingUtilities.invokeAndWait(() -> busy.set(!ui.getLoginButton().isEnabled()));
+                if (!busy.get()) {
+                    return;
+                }
+                assertTrue(System.nanoTime() < deadline, "Login or registration did not finish");
+                Thread.sleep(10);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while waiting for the click");
+        } catch (InvocationTargetException e) {
+            fail("Click failed: " + e.getCause());
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.todo.UnitTest;
+
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.ui.VirtualTodoTableModel;
+import org.junit.jupiter.api.*;
+
+import javax.swing.SwingUtilities;
+import java.lang.reflect.InvocationTargetException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VirtualTodoTableModelUniTest {
+
+    private static final int PAGE_SIZE = 10;
+
+    private volatile int total;
+    // Loads run on worker threads
+    private final List<Integer> loadedOffsets = new CopyOnWriteArrayList<>();
+    // The offsets of the loads that sought past a known row instead
+    private final List<Integer> soughtOffsets = new CopyOnWriteArrayList<>();
+    // Every count or page the model takes in fires one table event
+    private final AtomicInteger delivered = new AtomicInteger();
+    private VirtualTodoTableModel model;
+
+    @BeforeEach
+    void setUp() {
+        total = 95;
+        model = new VirtualTodoTableModel(new VirtualTodoTableModel.Source() {
+            @Override
+            public int count() {
+                return total;
+            }
+
+            @Override
+            public List<Todo> load(int offset, int limit) {
+                loadedOffsets.add(offset);
+                return rows(offset, limit);
+            }
+
+            @Override
+            public List<Todo> loadAfter(Todo last, int limit) {
+                // Ids are positions, so the row after the last one is at its id plus one
+                loadedOffsets.add(last.getId() + 1);
+                soughtOffsets.add(last.getId() + 1);
+                return rows(last.getId() + 1, limit);
+            }
+
+            private List<Todo> rows(int offset, int limit) {
+                List<Todo> todos = new ArrayList<>();
+                for (int id = offset; id < Math.min(total, offset + limit); id++) {
+                    todos.add(new Todo(id, 1, "Task " + id, "Description", LocalDate.now().plusDays(1), Priority.LOW, Tags.Work));
+                }
+                return todos;
+            }
+        }, PAGE_SIZE, 3);
+        model.addTableModelListener(e -> delivered.incrementAndGet());
+        onEdt(() -> {
+            model.refresh();
+            return null;
+        });
+        awaitDelivered(1);
+    }
+
+    @Test
+    @DisplayName("Row Count Comes From The Count Without Loading Rows")
+    void testCountOnly() {
+        assertEquals(95, (int) onEdt(model::getRowCount));
+        assertTrue(loadedOffsets.isEmpty());
+        assertEquals(0, (int) onEdt(model::getLoadedPageCount));
+    }
+
+    @Test
+    @DisplayName("Reading A Row Loads Its Page And Prefetches The Neighbours")
+    void testLoadAndPrefetch() {
+        assertEquals("Loading...", read(25, 1));
+        awaitDelivered(2);
+        assertEquals(List.of(20), loadedOffsets);
+
+        // Reading the page once it is in fetches the pages on either side
+        assertEquals("Task 25", read(25, 1));
+        awaitDelivered(4);
+        assertEquals(Set.of(20, 10, 30), Set.copyOf(loadedOffsets));
+        assertEquals(3, loadedOffsets.size());
+        assertEquals(3, (int) onEdt(model::getLoadedPageCount));
+
+        // Already loaded pages are served without another fetch
+        assertEquals(31, read(31, 0));
+        awaitDelivered(5);
+        assertEquals(40, loadedOffsets.get(3));
+        assertEquals(4, loadedOffsets.size());
+        // Pages following a loaded one seek past its last row; the one before it cannot
+        assertEquals(List.of(30, 40), soughtOffsets);
+    }
+
+    @Test
+    @DisplayName("Pages Far From The Viewport Are Evicted")
+    void testEviction() {
+        read(5, 1);
+        awaitDelivered(2);
+        read(5, 1);
+        awaitDelivered(3);
+        read(90, 1);
+        awaitDelivered(4);
+        read(90, 1);
+        awaitDelivered(5);
+
+        assertEquals(3, (int) onEdt(model::getLoadedPageCount));
+        loadedOffsets.clear();
+        assertEquals("Task 91", read(91, 1));
+        assertTrue(loadedOffsets.isEmpty(), "Pages around the viewport should stay cached");
+
+        read(0, 1);
+        awaitDelivered(6);
+        assertTrue(loadedOffsets.contains(0), "Far pages should have been evicted and fetched again");
+        assertEquals(3, (int) onEdt(model::getLoadedPageCount));
+    }
+
+    @Test
+    @DisplayName("Refresh Picks Up A New Count And Reloads Pages")
+    void testRefresh() {
+        read(0, 1);
+        awaitDelivered(2);
+        total = 5;
+        onEdt(() -> {
+            model.refresh();
+            return null;
+        });
+        awaitDelivered(3);
+
+        assertEquals(5, (int) onEdt(model::getRowCount));
+        assertEquals(0, (int) onEdt(model::getLoadedPageCount));
+        read(4, 1);
+        awaitDelivered(4);
+        assertEquals("Task 4", read(4, 1));
+        assertThrows(IllegalArgumentException.class, () -> new VirtualTodoTableModel(null, 10, 2));
+    }
+
+    private Object read(int row, int column) {
+        return onEdt(() -> model.getValueAt(row, column));
+    }
+
+    // The model is used on the EDT like any Swing model
+    private <T> T onEdt(Supplier<T> action) {
+        AtomicReference<T> result = new AtomicReference<>();
+        try {
+            SwingUtilities.invokeAndWait(() -> result.set(action.get()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            fail("Interrupted while running on the EDT");
+        } catch (InvocationTargetException e) {
+            fail("Failed on the EDT: " + e.getCause());
+        }
+        return result.get();
+    }
+
+    private void awaitDelivered(int count) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (onEdt(delivered::get) < count) {
+            assertTrue(System.nanoTime() < deadline, "Expected " + count + " loads to arrive, got " + delivered.get());
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail("Interrupted while waiting for loads");
+            }
+        }
+        assertEquals(count, delivered.get());
+    }
+}
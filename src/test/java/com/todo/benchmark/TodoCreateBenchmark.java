@@ -0,0 +1,121 @@
+package com.todo.benchmark;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.model.Priority;
+import com.todo.model.Status;
+import com.todo.model.Tags;
+import com.todo.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create throughput of the single-statement TodoService.createTodo against the previous
+ * flow of a user lookup plus an insert inside an explicit transaction.
+ *
+ * Needs the test database from src/test/resources/application.properties; the package
+ * documentation says how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoCreateBenchmark {
+
+    private static final String USERNAME = "create-benchmark";
+
+    private final TodoService todoService = new TodoService();
+    private final LocalDate dueDate = LocalDate.now().plusDays(1);
+    private int userId;
+    private int legacySpecificId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "INSERT INTO users (username, password) VALUES (?, 'benchmark') " +
+                 "ON CONFLICT (username) DO UPDATE SET username = EXCLUDED.username RETURNING id")) {
+            ps.setString(1, USERNAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                userId = rs.getInt(1);
+            }
+        }
+        // Explicit ids must stay unique per user, so the legacy path counts down from -1
+        legacySpecificId = -1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement todos = conn.prepareStatement("DELETE FROM todos WHERE user_id = ?");
+             PreparedStatement users = conn.prepareStatement("DELETE FROM users WHERE id = ?")) {
+            todos.setInt(1, userId);
+            todos.executeUpdate();
+            users.setInt(1, userId);
+            users.executeUpdate();
+        }
+        DatabaseConfig.closePool();
+    }
+
+    @Benchmark
+    public void singleStatementCreate(Blackhole bh) {
+        bh.consume(todoService.createTodo(0, userId, "Benchmark", "Create benchmark", dueDate, Priority.MEDIUM, Tags.Work));
+    }
+
+    @Benchmark
+    public void lookupAndTransactionCreate(Blackhole bh) throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                try (PreparedStatement check = conn.prepareStatement("SELECT 1 FROM users WHERE id = ?")) {
+                    check.setInt(1, userId);
+                    try (ResultSet rs = check.executeQuery()) {
+                        if (!rs.next()) {
+                            throw new SQLException("Invalid user ID: " + userId);
+                        }
+                    }
+                }
+                try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO todos (user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?) RETURNING id")) {
+                    ps.setInt(1, legacySpecificId--);
+                    ps.setInt(2, userId);
+                    ps.setString(3, "Benchmark");
+                    ps.setString(4, "Create benchmark");
+                    ps.setDate(5, Date.valueOf(dueDate));
+                    // Stored codes of MEDIUM, Work and PENDING
+                    ps.setShort(6, (short) 1);
+                    ps.setShort(7, (short) 0);
+                    ps.setShort(8, (short) 0);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        rs.next();
+                        bh.consume(rs.getInt(1));
+                    }
+                }
+                conn.commit();
+            } catch (SQLException e) {
+                conn.rollback();
+                throw e;
+            } finally {
+                conn.setAutoCommit(true);
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TodoCreateBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
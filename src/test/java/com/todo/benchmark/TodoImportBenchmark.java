@@ -0,0 +1,115 @@
+package com.todo.benchmark;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.model.Priority;
+import com.todo.model.Tags;
+import com.todo.model.TodoDraft;
+import com.todo.service.TodoFileFormat;
+import com.todo.service.TodoImporter;
+import com.todo.service.TodoService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Time to load {@value #ROWS} todos through TodoImporter's COPY path against the batched
+ * inserts of TodoService.createTodos. Rows per second is {@value #ROWS} divided by the
+ * reported time.
+ *
+ * Needs the test database from src/test/resources/application.properties; the package
+ * documentation says how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, batchSize = 1)
+@Measurement(iterations = 5, batchSize = 1)
+@Fork(1)
+public class TodoImportBenchmark {
+
+    private static final String USERNAME = "import-benchmark";
+    private static final int ROWS = 100_000;
+
+    private final TodoService todoService = new TodoService();
+    private final TodoImporter importer = new TodoImporter();
+    private final List<TodoDraft> drafts = new ArrayList<>(ROWS);
+    private String csv;
+    private int userId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement(
+                 "INSERT INTO users (username, password) VALUES (?, 'benchmark') " +
+                 "ON CONFLICT (username) DO UPDATE SET username = EXCLUDED.username RETURNING id")) {
+            ps.setString(1, USERNAME);
+            try (ResultSet rs = ps.executeQuery()) {
+                rs.next();
+                userId = rs.getInt(1);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        Priority[] priorities = Priority.values();
+        Tags[] tags = Tags.values();
+        StringBuilder file = new StringBuilder("title,description,due_date,priority,tag\n");
+        for (int i = 0; i < ROWS; i++) {
+            String title = "Imported " + i;
+            String description = "Row " + i + " of the import benchmark";
+            LocalDate dueDate = today.plusDays(1 + i % 365);
+            Priority priority = priorities[i % priorities.length];
+            Tags tag = tags[i % tags.length];
+            file.append(title).append(',').append(description).append(',').append(dueDate)
+                .append(',').append(priority).append(',').append(tag).append('\n');
+            drafts.add(new TodoDraft(0, title, description, dueDate, priority, tag));
+        }
+        csv = file.toString();
+    }
+
+    @TearDown(Level.Iteration)
+    public void deleteTodos() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM todos WHERE user_id = ?")) {
+            ps.setInt(1, userId);
+            ps.executeUpdate();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Connection conn = DatabaseConfig.getConnection();
+             PreparedStatement ps = conn.prepareStatement("DELETE FROM users WHERE id = ?")) {
+            ps.setInt(1, userId);
+            ps.executeUpdate();
+        }
+        DatabaseConfig.closePool();
+    }
+
+    @Benchmark
+    public void copyImport(Blackhole bh) throws IOException {
+        bh.consume(importer.importTodos(userId, TodoFileFormat.CSV, new StringReader(csv), null));
+    }
+
+    @Benchmark
+    public void batchedCreate(Blackhole bh) {
+        bh.consume(todoService.createTodos(userId, drafts));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TodoImportBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
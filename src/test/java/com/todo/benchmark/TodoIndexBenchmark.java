@@ -0,0 +1,138 @@
+package com.todo.benchmark;
+
+import com.todo.config.DatabaseConfig;
+import com.todo.config.PropertiesLoader;
+import com.todo.service.TodoRowDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-user list queries against a copy of the todos table with and without
+ * the indexes the migrations put on it. The rows live in a scratch "bench" schema so the
+ * test database's own todos are untouched.
+ *
+ * Needs the test database from src/test/resources/application.properties; the package
+ * documentation says how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoIndexBenchmark {
+
+    private static final int USERS = 1000;
+    private static final int PAGE_SIZE = 100;
+
+    @Param({"1000000"})
+    private int rows;
+
+    @Param({"false", "true"})
+    private boolean indexed;
+
+    private Connection conn;
+    private PreparedStatement listPage;
+    private PreparedStatement listPendingPage;
+    private int nextUser;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        // Make sure the real schema is migrated before copying its shape
+        DatabaseConfig.getConnection().close();
+
+        conn = DriverManager.getConnection(PropertiesLoader.getProperty("db.url"),
+            PropertiesLoader.getProperty("db.username"), PropertiesLoader.getProperty("db.password"));
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP SCHEMA IF EXISTS bench CASCADE");
+            stmt.execute("CREATE SCHEMA bench");
+            stmt.execute("SET search_path TO bench");
+            stmt.execute("CREATE TABLE todos (LIKE public.todos INCLUDING DEFAULTS)");
+            stmt.execute("ALTER TABLE todos ADD PRIMARY KEY (id)");
+            // An empty copy that carries the real table's indexes, built after the rows are in
+            stmt.execute("CREATE TABLE index_source (LIKE public.todos INCLUDING INDEXES)");
+        }
+
+        try (PreparedStatement ps = conn.prepareStatement(
+            "INSERT INTO todos (id, user_specific_id, user_id, title, description, due_date, priority, tag, status) " +
+            "SELECT g, g / " + USERS + ", g % " + USERS + " + 1, 'Todo ' || g, 'Benchmark description', " +
+            "CURRENT_DATE + (g % 365), g % 3, g % 3, CASE WHEN g % 4 = 0 THEN 1 ELSE 0 END " +
+            "FROM generate_series(1, ?) g")) {
+            ps.setInt(1, rows);
+            ps.executeUpdate();
+        }
+
+        try (Statement stmt = conn.createStatement()) {
+            if (indexed) {
+                for (String ddl : indexDefinitions()) {
+                    stmt.execute(ddl);
+                }
+            }
+            stmt.execute("VACUUM ANALYZE todos");
+        }
+
+        listPage = conn.prepareStatement(
+            "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE user_id = ? ORDER BY due_date, id LIMIT " + (PAGE_SIZE + 1));
+        listPendingPage = conn.prepareStatement(
+            "SELECT " + TodoRowDecoder.COLUMNS + " FROM todos WHERE user_id = ? AND status = 0 ORDER BY due_date, id LIMIT " + (PAGE_SIZE + 1));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP SCHEMA IF EXISTS bench CASCADE");
+        }
+        conn.close();
+        DatabaseConfig.closePool();
+    }
+
+    @Benchmark
+    public void listFirstPage(Blackhole bh) throws SQLException {
+        drain(listPage, bh);
+    }
+
+    @Benchmark
+    public void listPendingFirstPage(Blackhole bh) throws SQLException {
+        drain(listPendingPage, bh);
+    }
+
+    private void drain(PreparedStatement ps, Blackhole bh) throws SQLException {
+        nextUser = nextUser % USERS + 1;
+        ps.setInt(1, nextUser);
+        try (ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                bh.consume(rs.getInt(1));
+            }
+        }
+    }
+
+    // CREATE INDEX statements for the secondary indexes of the real table, retargeted at the copy
+    private List<String> indexDefinitions() throws SQLException {
+        List<String> definitions = new ArrayList<>();
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(
+                 "SELECT indexdef FROM pg_indexes WHERE schemaname = 'bench' AND tablename = 'index_source' " +
+                 "AND indexname NOT LIKE '%pkey'")) {
+            while (rs.next()) {
+                definitions.add(rs.getString(1).replaceFirst("INDEX \\S+ ON bench\\.index_source ", "INDEX ON bench.todos "));
+            }
+        }
+        return definitions;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TodoIndexBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,112 @@
+package com.todo.benchmark;
+
+import com.todo.config.PropertiesLoader;
+import com.todo.model.Priority;
+import com.todo.model.Status;
+import com.todo.model.Tags;
+import com.todo.model.Todo;
+import com.todo.service.TodoRowDecoder;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.sql.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares mapping rows by column name, as TodoService did before TodoRowDecoder, with
+ * the positional TodoRowDecoder.
+ * Rows are read once into a scrollable result set, so each invocation only measures
+ * row decoding and not the database round-trip.
+ *
+ * Needs the test database from src/test/resources/application.properties; the package
+ * documentation says how to run it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TodoMapperBenchmark {
+
+    @Param({"1000"})
+    private int rows;
+
+    // Same code order as TodoRowDecoder and V6__compact_enum_columns.sql
+    private static final Priority[] PRIORITY_BY_CODE = {Priority.HIGH, Priority.MEDIUM, Priority.LOW};
+    private static final Tags[] TAG_BY_CODE = {Tags.Work, Tags.Home, Tags.Urgent};
+    private static final Status[] STATUS_BY_CODE = {Status.PENDING, Status.COMPLETED};
+
+    private Connection conn;
+    private Statement stmt;
+    private ResultSet rs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        conn = DriverManager.getConnection(PropertiesLoader.getProperty("db.url"),
+            PropertiesLoader.getProperty("db.username"), PropertiesLoader.getProperty("db.password"));
+        stmt = conn.createStatement(ResultSet.TYPE_SCROLL_INSENSITIVE, ResultSet.CONCUR_READ_ONLY);
+        // Same column order as TodoRowDecoder.COLUMNS
+        rs = stmt.executeQuery(
+            "SELECT g AS id, 1 AS user_id, g AS user_specific_id, 'Todo ' || g AS title, " +
+            "'Benchmark description' AS description, CURRENT_DATE + 1 + g % 365 AS due_date, " +
+            "(g % 3)::smallint AS priority, (g % 3)::smallint AS tag, " +
+            "CASE WHEN g % 4 = 0 THEN 1 ELSE 0 END::smallint AS status, 0 AS version " +
+            "FROM generate_series(1, " + rows + ") g");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        rs.close();
+        stmt.close();
+        conn.close();
+    }
+
+    @Benchmark
+    public void byNameMapper(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            bh.consume(mapByName(rs));
+        }
+    }
+
+    @Benchmark
+    public void positionalDecoder(Blackhole bh) throws SQLException {
+        rs.beforeFirst();
+        while (rs.next()) {
+            bh.consume(TodoRowDecoder.decode(rs));
+        }
+    }
+
+    // The baseline: every column looked up by name
+    private static Todo mapByName(ResultSet rs) throws SQLException {
+        Priority priority = fromCode(rs.getShort("priority"), rs.wasNull(), PRIORITY_BY_CODE, Priority.MEDIUM);
+        Tags tag = fromCode(rs.getShort("tag"), rs.wasNull(), TAG_BY_CODE, Tags.Work);
+        Todo todo = new Todo(rs.getInt("id"), rs.getInt("user_id"), rs.getString("title"),
+            rs.getString("description"), rs.getDate("due_date").toLocalDate(), priority, tag);
+        int userSpecificId = rs.getInt("user_specific_id");
+        if (!rs.wasNull()) {
+            todo.setUserSpecificId(userSpecificId);
+        }
+        Status status = fromCode(rs.getShort("status"), rs.wasNull(), STATUS_BY_CODE, Status.PENDING);
+        todo.setStatus(status);
+        todo.setCompleted(status == Status.COMPLETED);
+        todo.setVersion(rs.getInt("version"));
+        return todo;
+    }
+
+    private static <E> E fromCode(short code, boolean isNull, E[] byCode, E fallback) {
+        return isNull || code < 0 || code >= byCode.length ? fallback : byCode[code];
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+            .include(TodoMapperBenchmark.class.getSimpleName())
+            .build();
+        new Runner(options).run();
+    }
+}
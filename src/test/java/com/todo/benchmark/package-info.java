@@ -0,0 +1,11 @@
+/**
+ * JMH benchmarks against the test database from src/test/resources/application.properties;
+ * the first connection migrates it. Each class has a main method. Run one on a plain JVM
+ * with the test classpath, because exec:java runs JMH inside the Maven JVM and the forked
+ * benchmark JVM then cannot find ForkedMain:
+ * <pre>
+ * mvn test-compile dependency:build-classpath -Dmdep.outputFile=target/test-classpath.txt
+ * java -cp "target/test-classes:target/classes:$(cat target/test-classpath.txt)" com.todo.benchmark.TodoIndexBenchmark
+ * </pre>
+ */
+package com.todo.benchmark;
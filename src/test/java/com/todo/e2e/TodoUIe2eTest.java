@@ -8,7 +8,7 @@ import com.todo.ui.TodoUI;
 import com.todo.ui.UI;
 
 import javax.swing.*;
-import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 
 import java.awt.*;
 import java.lang.reflect.Field;
@@ -318,7 +318,7 @@ public class TodoUIe2eTest {
     @DisplayName("Test TableModel isCellEditable Method")
     void testTableModelIsCellEditable() throws Exception {
         SwingUtilities.invokeAndWait(() -> {
-            DefaultTableModel model = (DefaultTableModel) getTodoTable().getModel();
+            TableModel model = getTodoTable().getModel();
             for (int row = 0; row < Math.max(1, model.getRowCount()); row++) {
                 for (int col = 0; col < model.getColumnCount(); col++) {
                     assertFalse(model.isCellEditable(row, col), 